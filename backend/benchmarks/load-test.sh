@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Starts the packaged portal with the given Spring profile, drives it with LoadGenerator and stops it again.
+# Compare platform threads with virtual threads (the latter needs a Java 21 runtime in JAVA_HOME):
+#
+#   ./load-test.sh
+#   JAVA_HOME=/path/to/jdk-21 ./load-test.sh virtual
+#
+# Any further arguments are passed to LoadGenerator, e.g. --concurrency 100,400 --duration 60
+set -euo pipefail
+cd "$(dirname "$0")"
+
+PROFILE="${1:-}"
+shift || true
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+(cd .. && mvn -B -q package -DskipTests)
+mvn -B -q compile
+JAR=$(ls ../target/citizen-reporting-portal-*.jar | head -n 1)
+
+"$JAVA" -jar "$JAR" ${PROFILE:+--spring.profiles.active=$PROFILE} \
+    --spring.jpa.show-sql=false --logging.level.root=WARN \
+    --logging.level.com.portal=WARN --logging.level.org.springframework.security=WARN \
+    > target/load-test-app.log 2>&1 &
+APP_PID=$!
+trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+# Startup takes a while on small machines; wait until the HTTP port answers
+for _ in $(seq 1 180); do
+    curl -s -o /dev/null http://localhost:8080/ && break
+    kill -0 $APP_PID 2>/dev/null || { echo "Portal exited during startup, see target/load-test-app.log"; exit 1; }
+    sleep 1
+done
+
+echo "Runtime: $("$JAVA" -version 2>&1 | head -n 1), profile: ${PROFILE:-default}"
+"$JAVA" -cp target/classes com.portal.benchmark.LoadGenerator "$@"
@@ -0,0 +1,61 @@
+package com.portal.benchmark;
+
+import com.portal.service.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Per-request authentication cost: re-checking credentials (BCrypt) versus verifying a signed bearer token
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AuthBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private AuthenticationManager authenticationManager;
+    private TokenService tokenService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = PortalContext.start();
+        authenticationManager = context.getBean(AuthenticationManager.class);
+        tokenService = context.getBean(TokenService.class);
+        token = tokenService.issue("officer1", Set.of("POLICE"));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Authentication credentials() {
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("officer1", "demo"));
+    }
+
+    @Benchmark
+    public Optional<TokenService.TokenPrincipal> bearerToken() {
+        return tokenService.verify(token);
+    }
+}
@@ -0,0 +1,162 @@
+package com.portal.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Closed-loop HTTP load against a running portal: at each concurrency level, that many simulated officers send
+// requests back to back for a fixed duration, and throughput, errors and latency percentiles are printed.
+// Used by load-test.sh to compare platform-thread and virtual-thread Tomcat; depends on the JDK only.
+//
+//   java -cp target/classes com.portal.benchmark.LoadGenerator --concurrency 50,200,800 --duration 30
+public class LoadGenerator {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final String baseUrl;
+    private final Duration requestTimeout;
+
+    private LoadGenerator(String baseUrl, Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = option(args, "--url", "http://localhost:8080");
+        String path = option(args, "--path", "/api/police/reports?limit=50");
+        int[] levels = Arrays.stream(option(args, "--concurrency", "50,200,800,1600").split(","))
+            .mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+        int durationSeconds = Integer.parseInt(option(args, "--duration", "30"));
+        int warmupSeconds = Integer.parseInt(option(args, "--warmup", "10"));
+        int seed = Integer.parseInt(option(args, "--seed", "1000"));
+
+        LoadGenerator generator = new LoadGenerator(baseUrl, Duration.ofSeconds(30));
+        String citizenToken = generator.token(option(args, "--citizen", "citizen1"), option(args, "--password", "demo"));
+        String officerToken = generator.token(option(args, "--officer", "officer1"), option(args, "--password", "demo"));
+        generator.seed(citizenToken, seed);
+
+        System.out.printf("GET %s%s, %ds per level after %ds warm-up%n", baseUrl, path, durationSeconds, warmupSeconds);
+        System.out.printf("%11s %10s %10s %8s %9s %9s %9s %9s%n",
+            "concurrency", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (int level : levels) {
+            generator.run(path, officerToken, level, warmupSeconds);
+            Result result = generator.run(path, officerToken, level, durationSeconds);
+            System.out.printf("%11d %10d %10.1f %8d %9.1f %9.1f %9.1f %9.1f%n", level, result.requests,
+                result.requests / (double) durationSeconds, result.errors,
+                result.percentile(0.50), result.percentile(0.90), result.percentile(0.99), result.percentile(1.0));
+        }
+    }
+
+    private Result run(String path, String token, int concurrency, int seconds) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Authorization", "Bearer " + token)
+            .timeout(requestTimeout)
+            .GET()
+            .build();
+        Result result = new Result();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            loop(request, result, deadline, finished);
+        }
+        finished.await();
+        return result;
+    }
+
+    // One simulated user: the next request is sent when the previous response arrives
+    private void loop(HttpRequest request, Result result, long deadline, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            result.record(System.nanoTime() - start, error == null && response.statusCode() == 200);
+            loop(request, result, deadline, finished);
+        });
+    }
+
+    private void seed(String citizenToken, int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            String body = "{\"suspiciousAppName\":\"Load Test App " + (i % 50) + "\",\"victimName\":\"Load Test\"," +
+                "\"contactInfo\":\"load@example.com\",\"downloadSource\":\"http://load-" + (i % 20) + ".example/app.apk\"," +
+                "\"threatLevel\":\"medium\",\"description\":\"Seeded by LoadGenerator\"}";
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/citizen/reports"))
+                .header("Authorization", "Bearer " + citizenToken)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    // Retries for a while, since the default users are created just after the server starts listening
+    private String token(String username, String password) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/token"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(
+                "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+            .build();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                Matcher matcher = TOKEN.matcher(response.body());
+                if (response.statusCode() == 200 && matcher.find()) {
+                    return matcher.group(1);
+                }
+                if (attempt == 30) {
+                    throw new IllegalStateException("Could not obtain a token for " + username + ": " + response.body());
+                }
+            } catch (IOException e) {
+                if (attempt == 30) {
+                    throw e;
+                }
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+
+    private static class Result {
+        long[] latencies = new long[1 << 16];
+        int requests;
+        long errors;
+
+        synchronized void record(long nanos, boolean success) {
+            if (requests == latencies.length) {
+                latencies = Arrays.copyOf(latencies, requests * 2);
+            }
+            latencies[requests++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized double percentile(double p) {
+            if (requests == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, requests);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(requests - 1, Math.ceil(p * requests) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
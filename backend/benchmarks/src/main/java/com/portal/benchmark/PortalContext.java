@@ -0,0 +1,60 @@
+package com.portal.benchmark;
+
+import com.portal.CitizenReportingPortalApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Boots the real application against a private in-memory H2 database with request logging silenced
+final class PortalContext {
+
+    // Set-based seeding straight in H2: millions of rows in seconds, with repeating app names, sources and
+    // threat levels so filters, grouping and search see realistic cardinalities
+    private static final String SEED_REPORTS_SQL =
+        "INSERT INTO reports (id, suspicious_app_name, victim_name, contact_info, download_source, threat_level, " +
+        "description, evidence_file_name, evidence_sha256, status, report_date, citizen_id) " +
+        "SELECT X, 'SBI Secure Update ' || MOD(X, 500), 'Victim ' || X, 'victim' || X || '@example.com', " +
+        "'http://fake-bank-' || MOD(X, 200) || '.example/app.apk', " +
+        "CASE MOD(X, 4) WHEN 0 THEN 'low' WHEN 1 THEN 'medium' WHEN 2 THEN 'high' ELSE 'critical' END, " +
+        "'Installed com.fake.bank' || MOD(X, 500) || ' from an SMS link; it asked for the OTP and card PIN. " +
+        "Caller used +91-98' || MOD(X, 100000), NULL, NULL, " +
+        "CASE MOD(X, 3) WHEN 0 THEN 'pending' WHEN 1 THEN 'investigating' ELSE 'resolved' END, " +
+        "DATEADD('SECOND', -X * 30, LOCALTIMESTAMP), (SELECT id FROM users WHERE username = 'citizen1') " +
+        "FROM SYSTEM_RANGE(1, ?)";
+
+    private PortalContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        String[] defaults = {
+            "--server.port=0",
+            "--management.server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+            "--spring.jpa.show-sql=false",
+            "--spring.h2.console.enabled=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.portal=WARN",
+            "--logging.level.org.springframework.security=WARN"
+        };
+        String[] args = new String[defaults.length + extraArgs.length];
+        System.arraycopy(defaults, 0, args, 0, defaults.length);
+        System.arraycopy(extraArgs, 0, args, defaults.length, extraArgs.length);
+        return new SpringApplicationBuilder(CitizenReportingPortalApplication.class).run(args);
+    }
+
+    // Creates the schema and default users, seeds the reports table, then boots again on the seeded data
+    // so that everything the application loads at startup sees the full table.
+    static ConfigurableApplicationContext startSeeded(int reportCount, String... extraArgs) {
+        try (ConfigurableApplicationContext schema = start("--spring.jpa.hibernate.ddl-auto=create",
+                                                           "--portal.search.rebuild-on-startup=false")) {
+            JdbcTemplate jdbc = schema.getBean(JdbcTemplate.class);
+            jdbc.update(SEED_REPORTS_SQL, reportCount);
+            jdbc.execute("ALTER SEQUENCE report_seq RESTART WITH " + (reportCount + 1000));
+        }
+
+        String[] args = new String[extraArgs.length + 1];
+        args[0] = "--spring.jpa.hibernate.ddl-auto=none";
+        System.arraycopy(extraArgs, 0, args, 1, extraArgs.length);
+        return start(args);
+    }
+}
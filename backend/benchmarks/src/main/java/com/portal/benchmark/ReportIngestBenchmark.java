@@ -0,0 +1,80 @@
+package com.portal.benchmark;
+
+import com.portal.dto.BatchItemResult;
+import com.portal.dto.ReportSubmission;
+import com.portal.model.Report;
+import com.portal.model.User;
+import com.portal.repository.ReportRepository;
+import com.portal.service.ReportService;
+import com.portal.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Reports per second through the single-item path versus the batched path
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ReportIngestBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    private ConfigurableApplicationContext context;
+    private ReportService reportService;
+    private ReportRepository reportRepository;
+    private User citizen;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = PortalContext.start();
+        reportService = context.getBean(ReportService.class);
+        reportRepository = context.getBean(ReportRepository.class);
+        citizen = context.getBean(UserService.class).findByUsername("citizen1").orElseThrow();
+    }
+
+    @Setup(Level.Iteration)
+    public void truncateReports() {
+        reportRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public ReportSubmission singleItem() throws IOException {
+        return reportService.createReport("SBI Quick Support", "Victim", "victim@example.com",
+            "http://sbi-kyc-update.example/apk", "high", "Asked for OTP after install", null, citizen);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<BatchItemResult> batch() throws IOException {
+        List<Report> reports = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            reports.add(new Report("SBI Quick Support", "Victim", "victim@example.com",
+                "http://sbi-kyc-update.example/apk", "high", "Asked for OTP after install", null, citizen));
+        }
+        return reportService.createReports(reports);
+    }
+}
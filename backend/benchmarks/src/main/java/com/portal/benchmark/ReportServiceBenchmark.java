@@ -0,0 +1,121 @@
+package com.portal.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portal.controller.ReportController;
+import com.portal.dto.ReportSubmission;
+import com.portal.model.Report;
+import com.portal.model.User;
+import com.portal.service.CustomUserDetailsService;
+import com.portal.service.ReportCampaignClusterer;
+import com.portal.service.ReportColumnStore;
+import com.portal.service.ReportService;
+import com.portal.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Hot paths of the report service against a seeded table. Throughput and SampleTime (latency percentiles) are
+// both reported; the runner adds -prof gc for allocation per operation. Sweep sizes with
+// -p reportCount=10000,100000,1000000,5000000 and raise the heap for the larger ones (-jvmArgsAppend -Xmx16g).
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ReportServiceBenchmark {
+
+    @Param({"10000", "100000"})
+    private int reportCount;
+
+    private ConfigurableApplicationContext context;
+    private ReportService reportService;
+    private ReportCampaignClusterer campaignClusterer;
+    private ReportColumnStore columnStore;
+    private ReportController reportController;
+    private CustomUserDetailsService userDetailsService;
+    private ObjectMapper objectMapper;
+    private User citizen;
+    private Report report;
+    private long nextClusteredId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = PortalContext.startSeeded(reportCount);
+        reportService = context.getBean(ReportService.class);
+        campaignClusterer = context.getBean(ReportCampaignClusterer.class);
+        columnStore = context.getBean(ReportColumnStore.class);
+        reportController = context.getBean(ReportController.class);
+        userDetailsService = context.getBean(CustomUserDetailsService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        citizen = context.getBean(UserService.class).findByUsername("citizen1").orElseThrow();
+
+        report = new Report("SBI Secure Update", "Victim", "victim@example.com", "http://fake-bank-1.example/app.apk",
+            "high", "Installed com.fake.bank from an SMS link; it asked for the OTP and card PIN.", null, null);
+        report.setId(42L);
+        nextClusteredId = Long.MAX_VALUE / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public ReportSubmission createReport() throws IOException {
+        return reportService.createReport("SBI Secure Update", "Victim", "victim@example.com",
+            "http://fake-bank-1.example/app.apk", "high", "Asked for OTP after install", null, citizen);
+    }
+
+    @Benchmark
+    public List<Report> getAllReports() {
+        return reportService.getAllReports();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> getReportStats() {
+        return reportController.getReportStats(null, "gzip");
+    }
+
+    // Campaign assignment alone, without the insert; ids are outside the seeded range so every call clusters
+    @Benchmark
+    public int assignCampaign() {
+        report.setId(nextClusteredId++);
+        campaignClusterer.assign(report);
+        return campaignClusterer.getCampaignCount();
+    }
+
+    // Two bitmap predicates plus a date range checked row by row, counting every match
+    @Benchmark
+    public long queryColumnStore() {
+        return columnStore.query("pending", "high", null, LocalDateTime.now().minusDays(30), null, -1, 50).getTotal();
+    }
+
+    @Benchmark
+    public byte[] serializeReport() throws Exception {
+        return objectMapper.writeValueAsBytes(report);
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailsService.loadUserByUsername("officer1");
+    }
+}
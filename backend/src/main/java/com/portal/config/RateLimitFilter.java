@@ -0,0 +1,275 @@
+package com.portal.config;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Admission control for the unauthenticated endpoints, ahead of Spring Security, so a rejected request costs no
+// BCrypt check and no database access. Each rule keeps a token bucket per client IP and, for credential endpoints,
+// per submitted username; buckets live in a bounded map and expire once idle.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Credential bodies are tiny; only this much of a JSON body is buffered to find the username
+    private static final int MAX_BODY_BYTES = 8192;
+
+    private final List<Rule> rules;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(List<Rule> rules, ObjectMapper objectMapper, MeterRegistry meterRegistry, long maxKeys) {
+        this.rules = rules;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+        Gauge.builder("portal.rate_limit.keys", buckets, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Rule rule = match(request);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = acquire(rule, "ip", request.getRemoteAddr(), rule.perIp);
+        if (waitNanos == 0 && rule.perUsername != null) {
+            // Buffered whatever the declared length, so a chunked body cannot skip the per-username check
+            if (isJson(request)) {
+                request = new CachedBodyRequest(request);
+            }
+            String username = username(request);
+            if (username == null && request instanceof CachedBodyRequest cached && cached.truncated) {
+                // A credential body this large is padding meant to push the username past the buffer
+                response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"success\":false,\"message\":\"Request body too large\"}");
+                return;
+            }
+            if (username != null) {
+                waitNanos = acquire(rule, "username", username.toLowerCase(Locale.ROOT), rule.perUsername);
+            }
+        }
+        if (waitNanos > 0) {
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"success\":false,\"message\":\"Too many requests\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // 0 when admitted, otherwise the time until the next token
+    private long acquire(Rule rule, String keyType, String key, Limit limit) {
+        TokenBucket bucket = buckets.get(rule.name + '|' + keyType + '|' + key, k -> new TokenBucket(limit));
+        long waitNanos = bucket.tryAcquire(System.nanoTime());
+        String outcome = waitNanos == 0 ? "admitted" : "rejected";
+        counters.computeIfAbsent(rule.name + '|' + keyType + '|' + outcome, k ->
+            Counter.builder("portal.rate_limit.requests")
+                .tag("rule", rule.name)
+                .tag("key", keyType)
+                .tag("outcome", outcome)
+                .register(meterRegistry))
+            .increment();
+        return waitNanos;
+    }
+
+    private Rule match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Rule rule : rules) {
+            if ((rule.method == null || rule.method.equals(request.getMethod())) && rule.matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private String username(HttpServletRequest request) throws IOException {
+        if (request instanceof CachedBodyRequest cached) {
+            // Streamed, so a truncated body still yields a username that appears within the buffered prefix
+            try (JsonParser parser = objectMapper.getFactory().createParser(cached.prefix)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return null;
+                }
+                JsonToken token;
+                while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                    boolean isUsername = "username".equals(parser.getCurrentName());
+                    token = parser.nextToken();
+                    if (isUsername) {
+                        return token == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    }
+                    parser.skipChildren();
+                }
+                return null;
+            } catch (IOException e) {
+                // Malformed or cut-off bodies are left for the endpoint to reject
+                return null;
+            }
+        }
+        // Form logins; the parameters are parsed once and stay available to the login filter
+        return isJson(request) ? null : request.getParameter("username");
+    }
+
+    private static boolean isJson(HttpServletRequest request) {
+        return request.getContentType() != null && request.getContentType().startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    public static class Limit {
+        final long capacity;
+        final long refillNanos;
+
+        // capacity requests per period, refilled evenly across the period
+        public Limit(long capacity, Duration period) {
+            this.capacity = capacity;
+            this.refillNanos = period.toNanos() / capacity;
+        }
+    }
+
+    public static class Rule {
+        final String name;
+        final String method;
+        final List<String> paths;
+        final Limit perIp;
+        final Limit perUsername;
+
+        // A path ending in "/**" matches its prefix; perUsername may be null. The first matching rule applies.
+        public Rule(String name, String method, List<String> paths, Limit perIp, Limit perUsername) {
+            this.name = name;
+            this.method = method;
+            this.paths = paths;
+            this.perIp = perIp;
+            this.perUsername = perUsername;
+        }
+
+        boolean matches(String path) {
+            for (String pattern : paths) {
+                if (pattern.endsWith("/**") ? path.startsWith(pattern.substring(0, pattern.length() - 2)) : path.equals(pattern)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // Token bucket kept as a single theoretical arrival time (GCRA) and updated by compare-and-set: each request
+    // books one refill interval, and is admitted while the bookings run at most one full bucket ahead of now
+    static class TokenBucket {
+        private final long refillNanos;
+        private final long burstNanos;
+        private final AtomicLong nextFree;
+
+        TokenBucket(Limit limit) {
+            this.refillNanos = limit.refillNanos;
+            this.burstNanos = limit.refillNanos * limit.capacity;
+            this.nextFree = new AtomicLong(System.nanoTime());
+        }
+
+        long tryAcquire(long now) {
+            while (true) {
+                long current = nextFree.get();
+                long scheduled = Math.max(current, now) + refillNanos;
+                if (scheduled - now > burstNanos) {
+                    return scheduled - now - burstNanos;
+                }
+                if (nextFree.compareAndSet(current, scheduled)) {
+                    return 0;
+                }
+            }
+        }
+    }
+
+    // Lets the filter read the first MAX_BODY_BYTES of a JSON body; the controller reads those bytes again followed by
+    // the rest of the original stream
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] prefix;
+        private final boolean truncated;
+        private final InputStream in;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            ServletInputStream original = request.getInputStream();
+            byte[] buffered = original.readNBytes(MAX_BODY_BYTES + 1);
+            this.truncated = buffered.length > MAX_BODY_BYTES;
+            this.prefix = truncated ? Arrays.copyOf(buffered, MAX_BODY_BYTES) : buffered;
+            this.in = new SequenceInputStream(new ByteArrayInputStream(buffered), original);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int b = in.read();
+                    finished = b < 0;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = in.read(buffer, offset, length);
+                    finished = read < 0;
+                    return read;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
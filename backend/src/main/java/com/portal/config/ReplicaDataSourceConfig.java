@@ -0,0 +1,78 @@
+package com.portal.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Read/write split (portal.datasource.replicas.enabled=true). The primary pool is configured from spring.datasource.*
+// as before; each URL in portal.datasource.replica-urls gets its own read-only pool. Without the flag Spring Boot's
+// single auto-configured pool is used and nothing here is created.
+@Configuration
+@ConditionalOnProperty(name = "portal.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${portal.datasource.replica-urls}") List<String> urls,
+            @Value("${portal.datasource.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${portal.datasource.replica-password:${spring.datasource.password:}}") String password,
+            @Value("${portal.datasource.replica-pool-size:10}") int poolSize,
+            @Value("${portal.datasource.replica-max-lag:5s}") Duration maxLag,
+            @Value("${portal.datasource.heartbeat-interval-ms:1000}") long heartbeatIntervalMillis,
+            @Value("${portal.datasource.replica-simulated-lag:0s}") Duration simulatedLag) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // Health checks run on the shared scheduler thread; an unreachable replica must not hold it for long
+            replica.setConnectionTimeout(2000);
+            // Replica pools are not beans, so Spring Boot does not bind their metrics
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag,
+            Duration.ofMillis(heartbeatIntervalMillis), simulatedLag);
+    }
+
+    // What JPA and the transaction manager see. The proxy hands out a placeholder connection at transaction begin
+    // and only asks the router for a real one at the first statement, after readOnly has been recorded.
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,191 @@
+package com.portal.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Sends connections for @Transactional(readOnly = true) work to a read replica, round-robin, and everything else to
+// the primary. Must sit behind a LazyConnectionDataSourceProxy: the connection is only fetched once the
+// transaction's read-only flag is known. Replication lag is measured with a heartbeat row that the primary writes
+// and every replica reads back; a replica that lags by more than max-lag, has not been checked recently or fails to
+// hand out a connection is skipped, and reads fall back to the primary.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final JdbcTemplate primaryJdbc;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final long simulatedLagMillis;
+    private final long staleAfterMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryReads = new LongAdder();
+    private volatile boolean heartbeatTableReady;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources,
+                                    Duration maxLag, Duration heartbeatInterval, Duration simulatedLag) {
+        this.primary = primary;
+        this.primaryJdbc = new JdbcTemplate(primary);
+        this.maxLagMillis = maxLag.toMillis();
+        this.simulatedLagMillis = simulatedLag.toMillis();
+        // Three missed checks and the last measurement no longer counts
+        this.staleAfterMillis = heartbeatInterval.toMillis() * 3;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaDataSources.forEach((name, dataSource) -> {
+            replicas.add(new Replica(name, dataSource));
+            targets.put(name, dataSource);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Replica replica = route();
+        return replica == null ? PRIMARY : replica.name;
+    }
+
+    // A replica that cannot hand out a connection is taken out of rotation until its next successful check
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = route();
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.routedReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.markDown("connection failed: " + e.getMessage());
+                log.warn("Replica {} unavailable, reading from the primary: {}", replica.name, e.getMessage());
+            }
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryReads.increment();
+        }
+        return primary.getConnection();
+    }
+
+    @Scheduled(fixedDelayString = "${portal.datasource.heartbeat-interval-ms:1000}")
+    public void heartbeat() {
+        try {
+            if (!heartbeatTableReady) {
+                primaryJdbc.execute("CREATE TABLE IF NOT EXISTS replication_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+                heartbeatTableReady = true;
+            }
+            long now = System.currentTimeMillis();
+            if (primaryJdbc.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", now) == 0) {
+                primaryJdbc.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", now);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Replication heartbeat not written: {}", e.getMessage());
+        }
+        for (Replica replica : replicas) {
+            replica.check();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        List<Map<String, Object>> replicaStats = new ArrayList<>(replicas.size());
+        long now = System.currentTimeMillis();
+        for (Replica replica : replicas) {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("name", replica.name);
+            stats.put("healthy", replica.isHealthy(now));
+            stats.put("lagMillis", replica.lagMillis);
+            stats.put("routedReads", replica.routedReads.sum());
+            stats.put("lastError", replica.lastError);
+            replicaStats.add(stats);
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("replicas", replicaStats);
+        result.put("primaryReads", primaryReads.sum());
+        result.put("maxLagMillis", maxLagMillis);
+        return result;
+    }
+
+    // Null for the primary: writes, reads outside a read-only transaction, and reads with no healthy replica
+    private Replica route() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isHealthy(now)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private class Replica {
+        final String name;
+        final DataSource dataSource;
+        final JdbcTemplate jdbc;
+        final LongAdder routedReads = new LongAdder();
+        volatile long lagMillis = -1;
+        volatile long checkedAt;
+        volatile boolean up;
+        volatile String lastError;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbc = new JdbcTemplate(dataSource);
+        }
+
+        boolean isHealthy(long now) {
+            return up && lagMillis <= maxLagMillis && now - checkedAt <= staleAfterMillis;
+        }
+
+        void check() {
+            try {
+                List<Long> beats = jdbc.queryForList("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class);
+                if (beats.isEmpty()) {
+                    markDown("no heartbeat replicated yet");
+                    return;
+                }
+                long now = System.currentTimeMillis();
+                boolean wasHealthy = isHealthy(now);
+                lagMillis = Math.max(0, now - beats.get(0)) + simulatedLagMillis;
+                checkedAt = now;
+                up = true;
+                lastError = null;
+                if (wasHealthy != isHealthy(now)) {
+                    log.info("Replica {} {} (lag {} ms)", name, isHealthy(now) ? "in rotation" : "lagging, reads go to the primary", lagMillis);
+                }
+            } catch (RuntimeException e) {
+                markDown(e.getMessage());
+            }
+        }
+
+        void markDown(String reason) {
+            if (up) {
+                log.warn("Replica {} out of rotation: {}", name, reason);
+            }
+            up = false;
+            lastError = reason;
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.portal.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.portal.service.CustomUserDetailsService;
+import com.portal.service.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -13,11 +21,14 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
@@ -26,11 +37,25 @@ public class SecurityConfig {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenService tokenService;
+
     @Bean
     public BCryptPasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
 
+    // Actuator is only served on the loopback management port (management.server.*), so scraping needs no login
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher(EndpointRequest.toAnyEndpoint())
+          .csrf(csrf -> csrf.disable())
+          .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.cors().and().csrf().disable()
@@ -51,11 +76,38 @@ public class SecurityConfig {
             .logoutUrl("/api/auth/logout")
             .logoutSuccessUrl("/")
             .permitAll()
-          );
+          )
+          .addFilterBefore(new TokenAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // Registered ahead of the security filter chain, so rejected requests never reach authentication
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${portal.rate-limit.enabled:true}") boolean enabled,
+            @Value("${portal.rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${portal.rate-limit.login.per-ip-per-minute:20}") int loginPerIp,
+            @Value("${portal.rate-limit.login.per-username-per-minute:10}") int loginPerUsername,
+            @Value("${portal.rate-limit.register.per-ip-per-hour:10}") int registerPerIp,
+            @Value("${portal.rate-limit.public.per-ip-per-minute:120}") int publicPerIp) {
+        Duration minute = Duration.ofMinutes(1);
+        List<RateLimitFilter.Rule> rules = List.of(
+            new RateLimitFilter.Rule("login", "POST", List.of("/api/auth/login", "/api/auth/token"),
+                new RateLimitFilter.Limit(loginPerIp, minute), new RateLimitFilter.Limit(loginPerUsername, minute)),
+            new RateLimitFilter.Rule("register", "POST", List.of("/api/auth/register"),
+                new RateLimitFilter.Limit(registerPerIp, Duration.ofHours(1)), null),
+            new RateLimitFilter.Rule("public", null, List.of("/api/auth/**", "/api/public/**"),
+                new RateLimitFilter.Limit(publicPerIp, minute), null));
+
+        FilterRegistrationBean<RateLimitFilter> registration =
+            new FilterRegistrationBean<>(new RateLimitFilter(rules, objectMapper, meterRegistry, maxKeys));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+
     @Bean
     public AuthenticationSuccessHandler authenticationSuccessHandler() {
         SimpleUrlAuthenticationSuccessHandler handler = new SimpleUrlAuthenticationSuccessHandler();
@@ -0,0 +1,28 @@
+package com.portal.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate hook counting the SQL statements prepared on the current thread; SqlStatementMetricsFilter
+// resets it per request and records the total, which makes N+1 query patterns show up per endpoint.
+// Only the request thread is counted: statements run on other threads (streamed exports, live event delivery,
+// the write-behind ingest writer, scheduled jobs) are not attributed to any request.
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int get() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,63 @@
+package com.portal.controller;
+
+import com.portal.service.ReportRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/police/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    @Autowired
+    private ReportRollupService reportRollupService;
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    // from/to accept an ISO date (2024-05-01) or date-time (2024-05-01T12:00); to is exclusive
+    @GetMapping("/timeseries")
+    public ResponseEntity<?> getTimeseries(@RequestParam(defaultValue = "threatLevel") String dimension,
+                                           @RequestParam(defaultValue = "day") String interval,
+                                           @RequestParam(required = false) String from,
+                                           @RequestParam(required = false) String to) {
+        if (!ReportRollupService.DIMENSIONS.contains(dimension)) {
+            return ResponseEntity.badRequest().body(Map.of("success", false,
+                "message", "dimension must be one of " + ReportRollupService.DIMENSIONS));
+        }
+        if (!ReportRollupService.INTERVALS.contains(interval)) {
+            return ResponseEntity.badRequest().body(Map.of("success", false,
+                "message", "interval must be one of " + ReportRollupService.INTERVALS));
+        }
+        LocalDateTime end;
+        LocalDateTime start;
+        try {
+            end = to != null ? parse(to) : LocalDateTime.now();
+            start = from != null ? parse(from) : end.toLocalDate().minusDays(DEFAULT_RANGE_DAYS).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Invalid date: " + e.getParsedString()));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("dimension", dimension);
+        response.put("interval", interval);
+        response.put("from", start);
+        response.put("to", end);
+        response.put("buckets", reportRollupService.getTimeseries(dimension, interval, start, end));
+        if ("hour".equals(interval)) {
+            response.put("hourlyRetentionStart", reportRollupService.getHourlyRetentionStart());
+        }
+        response.put("complete", reportRollupService.isReady());
+        return ResponseEntity.ok(response);
+    }
+
+    private static LocalDateTime parse(String value) {
+        return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+    }
+}
@@ -1,16 +1,20 @@
 package com.portal.controller;
 
 import com.portal.model.User;
+import com.portal.service.TokenService;
 import com.portal.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -25,6 +29,9 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TokenService tokenService;
+
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody Map<String, String> credentials) {
         try {
@@ -59,6 +66,35 @@ public class AuthController {
         }
     }
 
+    // Exchanges credentials for a signed bearer token; the only BCrypt check a token client ever pays
+    @PostMapping("/token")
+    public ResponseEntity<?> issueToken(@RequestBody Map<String, String> credentials) {
+        if (!tokenService.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("success", false, "message", "Token authentication is disabled"));
+        }
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(credentials.get("username"), credentials.get("password"))
+            );
+
+            // Authorities are ROLE_-prefixed; tokens carry the bare role names stored on the user
+            List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(a -> a.startsWith("ROLE_") ? a.substring("ROLE_".length()) : a)
+                .toList();
+
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "tokenType", "Bearer",
+                "token", tokenService.issue(authentication.getName(), roles),
+                "expiresIn", tokenService.getTtl().getSeconds()
+            ));
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("success", false, "message", "Invalid credentials"));
+        }
+    }
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody Map<String, Object> userData) {
         try {
@@ -0,0 +1,75 @@
+package com.portal.controller;
+
+import com.portal.dto.ReportSummary;
+import com.portal.service.ReportCampaignClusterer;
+import com.portal.service.ReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/police/campaigns")
+@CrossOrigin(origins = "*")
+public class CampaignController {
+
+    @Autowired
+    private ReportCampaignClusterer campaignClusterer;
+
+    @Autowired
+    private ReportService reportService;
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @GetMapping
+    public ResponseEntity<?> getCampaigns(@RequestParam(defaultValue = "2") int minSize,
+                                          @RequestParam(defaultValue = "50") int limit) {
+        List<ReportCampaignClusterer.Campaign> campaigns =
+            campaignClusterer.getCampaigns(Math.max(1, minSize), Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        // Each campaign is shown with its earliest report
+        List<Long> ids = new ArrayList<>(campaigns.size());
+        for (ReportCampaignClusterer.Campaign campaign : campaigns) {
+            ids.add(campaign.getId());
+        }
+        Map<Long, ReportSummary> firstReports = new HashMap<>();
+        for (ReportSummary summary : reportService.getReportSummariesByIds(ids)) {
+            firstReports.put(summary.getId(), summary);
+        }
+        List<Map<String, Object>> results = new ArrayList<>(campaigns.size());
+        for (ReportCampaignClusterer.Campaign campaign : campaigns) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("id", campaign.getId());
+            entry.put("size", campaign.getSize());
+            entry.put("firstReport", firstReports.get(campaign.getId()));
+            results.add(entry);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("campaigns", results);
+        response.put("totalCampaigns", campaignClusterer.getCampaignCount());
+        response.put("clusteredReports", campaignClusterer.getDocumentCount());
+        response.put("complete", campaignClusterer.isReady());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/reports")
+    public ResponseEntity<?> getCampaignReports(@PathVariable Long id,
+                                                @RequestParam(defaultValue = "50") int limit) {
+        ReportCampaignClusterer.CampaignMembers members =
+            campaignClusterer.getCampaignMembers(id, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        if (members == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", members.getCampaign().getId());
+        response.put("size", members.getCampaign().getSize());
+        response.put("reports", reportService.getReportSummariesByIds(members.getReportIds()));
+        return ResponseEntity.ok(response);
+    }
+}
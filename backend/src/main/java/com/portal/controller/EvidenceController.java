@@ -0,0 +1,125 @@
+package com.portal.controller;
+
+import com.portal.model.Evidence;
+import com.portal.service.EvidenceStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class EvidenceController {
+
+    // Tomcat sends files handed over through these attributes with FileChannel.transferTo (sendfile)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private EvidenceStorageService evidenceStorageService;
+
+    @GetMapping("/police/evidence/{fileName}")
+    public ResponseEntity<?> downloadEvidence(@PathVariable String fileName, HttpServletRequest request,
+                                              HttpServletResponse response) throws IOException {
+        Optional<Path> located = evidenceStorageService.locate(fileName);
+        if (located.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Path path = located.get();
+        long size = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+
+        // Content-addressed files never change, so their digest is a strong ETag
+        boolean contentAddressed = EvidenceStorageService.isContentAddress(fileName);
+        String etag = "\"" + (contentAddressed ? fileName : Long.toHexString(lastModified) + "-" + Long.toHexString(size)) + "\"";
+        MediaType contentType = MediaType.APPLICATION_OCTET_STREAM;
+        String downloadName = fileName;
+        if (contentAddressed) {
+            Optional<Evidence> evidence = evidenceStorageService.findEvidence(fileName);
+            if (evidence.isPresent()) {
+                contentType = parseMediaType(evidence.get().getContentType());
+                downloadName = evidence.get().getOriginalFileName() != null ? evidence.get().getOriginalFileName() : fileName;
+            }
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(downloadName).build());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) || "HEAD".equals(request.getMethod())) {
+            // Spring resolves conditional and Range requests for Resource bodies itself, from these validators
+            headers.setETag(etag);
+            headers.setLastModified(lastModified);
+            return ResponseEntity.ok().headers(headers).body(new FileSystemResource(path));
+        }
+
+        // Also writes ETag and Last-Modified to the response whatever the outcome, so headers leaves them out
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        long start = 0;
+        long end = size - 1;
+        HttpStatus status = HttpStatus.OK;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            if (ranges.size() > 1) {
+                // Multipart byte ranges are rare; let Spring build the multipart body
+                return ResponseEntity.ok().headers(headers).body(new FileSystemResource(path));
+            }
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                if (size == 0 || range.getRangeStart(size) >= size) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                        .build();
+                }
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+                status = HttpStatus.PARTIAL_CONTENT;
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        headers.setContentLength(end - start + 1);
+        if (end >= start) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+        }
+        return ResponseEntity.status(status).headers(headers).build();
+    }
+
+    private MediaType parseMediaType(String contentType) {
+        try {
+            return contentType == null ? MediaType.APPLICATION_OCTET_STREAM : MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.portal.controller;
+
+import com.portal.service.IndicatorMatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/police/indicators")
+@CrossOrigin(origins = "*")
+public class IndicatorController {
+
+    @Autowired
+    private IndicatorMatcher indicatorMatcher;
+
+    @GetMapping
+    public ResponseEntity<?> getIndicatorStats() {
+        return ResponseEntity.ok(indicatorMatcher.getStats());
+    }
+
+    // Re-reads portal.indicators.location; new submissions use the new set as soon as it is compiled
+    @PostMapping("/reload")
+    public ResponseEntity<?> reloadIndicators() {
+        try {
+            int loaded = indicatorMatcher.reload();
+            return ResponseEntity.ok(Map.of("success", true, "loaded", loaded, "stats", indicatorMatcher.getStats()));
+        } catch (IOException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Indicators not reloaded: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.portal.controller;
+
+import com.portal.config.ReplicaRoutingDataSource;
+import com.portal.service.ReportCache;
+import com.portal.service.ReportEventBroadcaster;
+import com.portal.service.ReportIngestQueue;
+import com.portal.service.ResponseCache;
+import com.portal.service.UserCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/police")
+@CrossOrigin(origins = "*")
+public class MonitoringController {
+
+    @Autowired
+    private ReportIngestQueue reportIngestQueue;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private ReportEventBroadcaster reportEventBroadcaster;
+
+    // Only present with portal.datasource.replicas.enabled=true
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @GetMapping("/ingest/stats")
+    public ResponseEntity<?> getIngestStats() {
+        return ResponseEntity.ok(reportIngestQueue.getStats());
+    }
+
+    @GetMapping("/events/stats")
+    public ResponseEntity<?> getEventStats() {
+        return ResponseEntity.ok(reportEventBroadcaster.getStats());
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getCacheStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("users", userCache.getStats());
+        stats.putAll(reportCache.getStats());
+        stats.put("responses", responseCache.getStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/datasource/stats")
+    public ResponseEntity<?> getDataSourceStats() {
+        if (replicaRoutingDataSource == null) {
+            return ResponseEntity.ok(Map.of("replicasEnabled", false));
+        }
+        Map<String, Object> stats = new HashMap<>(replicaRoutingDataSource.getStats());
+        stats.put("replicasEnabled", true);
+        return ResponseEntity.ok(stats);
+    }
+}
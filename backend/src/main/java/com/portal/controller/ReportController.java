@@ -1,23 +1,44 @@
 package com.portal.controller;
 
+import com.portal.dto.BatchItemResult;
+import com.portal.dto.BulkStatusUpdateRequest;
+import com.portal.dto.ReportCursor;
+import com.portal.dto.ReportSubmission;
+import com.portal.dto.ReportSummary;
 import com.portal.model.Report;
 import com.portal.model.User;
+import com.portal.service.EvidenceStorageService;
+import com.portal.service.ReportCampaignClusterer;
+import com.portal.service.ReportColumnStore;
+import com.portal.service.ReportEventBroadcaster;
+import com.portal.service.ReportExporter;
+import com.portal.service.ReportSearchIndex;
 import com.portal.service.ReportService;
+import com.portal.service.ReportStatsService;
+import com.portal.service.ResponseCache;
 import com.portal.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api")
@@ -30,7 +51,38 @@ public class ReportController {
     @Autowired
     private UserService userService;
 
-    private static final String UPLOAD_DIR = "uploads/";
+    @Autowired
+    private ReportStatsService reportStatsService;
+
+    @Autowired
+    private ReportExporter reportExporter;
+
+    @Autowired
+    private EvidenceStorageService evidenceStorageService;
+
+    @Autowired
+    private ReportSearchIndex reportSearchIndex;
+
+    @Autowired
+    private ReportColumnStore reportColumnStore;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private ReportEventBroadcaster reportEventBroadcaster;
+
+    @Autowired
+    private ReportCampaignClusterer campaignClusterer;
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final List<String> REPORT_STATUSES = List.of("pending", "investigating", "resolved");
+
+    @Value("${portal.ingest.max-batch-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${portal.bulk.max-ids:100000}")
+    private int maxBulkIds;
 
     // Citizen endpoints
     @PostMapping("/citizen/reports")
@@ -42,7 +94,7 @@ public class ReportController {
                 return ResponseEntity.badRequest().body(Map.of("success", false, "message", "User not found"));
             }
 
-            Report report = reportService.createReport(
+            ReportSubmission submission = reportService.createReport(
                 reportData.get("suspiciousAppName"),
                 reportData.get("victimName"),
                 reportData.get("contactInfo"),
@@ -53,21 +105,92 @@ public class ReportController {
                 citizen
             );
 
+            switch (submission.getOutcome()) {
+                case INVALID:
+                    return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Invalid report", "errors", submission.getErrors()));
+                case QUEUE_FULL:
+                    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(Map.of("success", false, "message", "Too many pending submissions, please retry shortly"));
+                case QUEUED:
+                    return ResponseEntity.accepted().body(Map.of(
+                        "success", true,
+                        "message", "Report accepted for processing",
+                        "ticketId", submission.getTicketId()
+                    ));
+                default:
+                    return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "message", "Report submitted successfully",
+                        "reportId", submission.getReport().getId()
+                    ));
+            }
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Failed to submit report"));
+        }
+    }
+
+    @PostMapping("/citizen/reports/batch")
+    public ResponseEntity<?> submitReports(@RequestBody List<Map<String, String>> reportsData,
+                                           Authentication authentication) {
+        if (reportsData.isEmpty() || reportsData.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body(Map.of("success", false,
+                "message", "Batch must contain between 1 and " + maxBatchSize + " reports"));
+        }
+
+        try {
+            User citizen = userService.findByUsername(authentication.getName()).orElse(null);
+            if (citizen == null) {
+                return ResponseEntity.badRequest().body(Map.of("success", false, "message", "User not found"));
+            }
+
+            List<Report> reports = new ArrayList<>(reportsData.size());
+            for (Map<String, String> reportData : reportsData) {
+                reports.add(new Report(
+                    reportData.get("suspiciousAppName"),
+                    reportData.get("victimName"),
+                    reportData.get("contactInfo"),
+                    reportData.get("downloadSource"),
+                    reportData.get("threatLevel"),
+                    reportData.get("description"),
+                    reportData.get("evidenceFileName"),
+                    citizen
+                ));
+            }
+
+            List<BatchItemResult> results = reportService.createReports(reports);
+            long accepted = results.stream().filter(BatchItemResult::isSuccess).count();
             return ResponseEntity.ok(Map.of(
-                "success", true,
-                "message", "Report submitted successfully",
-                "reportId", report.getId()
+                "success", accepted == results.size(),
+                "accepted", accepted,
+                "rejected", results.size() - accepted,
+                "results", results
             ));
 
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Failed to submit report"));
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Failed to submit reports"));
         }
     }
 
+    // Newest first, keyset-paginated like /police/reports; the citizen id comes from the user cache
     @GetMapping("/citizen/reports")
-    public ResponseEntity<List<Report>> getCitizenReports(Authentication authentication) {
-        List<Report> reports = reportService.getReportsByUser(authentication.getName());
-        return ResponseEntity.ok(reports);
+    public ResponseEntity<?> getCitizenReports(Authentication authentication,
+                                               @RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String cursor) {
+        Optional<User> user = userService.findByUsername(authentication.getName());
+        if (user.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "User not found"));
+        }
+        ReportCursor after;
+        try {
+            after = cursor == null || cursor.isEmpty() ? null : ReportCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Invalid cursor"));
+        }
+        int pageSize = Math.max(1, Math.min(limit == null ? 50 : limit, MAX_PAGE_SIZE));
+
+        return ResponseEntity.ok(keysetPage(reportService.getReportSummariesByCitizen(user.get().getId(), after, pageSize), pageSize));
     }
 
     @PostMapping("/citizen/upload")
@@ -77,21 +200,16 @@ public class ReportController {
                 return ResponseEntity.badRequest().body(Map.of("success", false, "message", "File is empty"));
             }
 
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(UPLOAD_DIR);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            // Save file
-            String fileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
-            Path filePath = uploadPath.resolve(fileName);
-            Files.copy(file.getInputStream(), filePath);
+            // The returned fileName is the content digest; submit it as the report's evidenceFileName
+            EvidenceStorageService.StoredEvidence stored = evidenceStorageService.store(file);
 
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "File uploaded successfully",
-                "fileName", fileName
+                "fileName", stored.getEvidence().getSha256(),
+                "sha256", stored.getEvidence().getSha256(),
+                "size", stored.getEvidence().getSize(),
+                "duplicate", stored.isDuplicate()
             ));
 
         } catch (IOException e) {
@@ -101,9 +219,111 @@ public class ReportController {
 
     // Police endpoints
     @GetMapping("/police/reports")
-    public ResponseEntity<List<Report>> getAllReports() {
-        List<Report> reports = reportService.getAllReports();
-        return ResponseEntity.ok(reports);
+    public ResponseEntity<?> getAllReports(@RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (limit == null && cursor == null) {
+            return cachedJson("reports", ifNoneMatch, acceptEncoding, reportService::getAllReports);
+        }
+
+        // Keyset mode: page N costs the same as page 1 and never loads descriptions
+        ReportCursor after;
+        try {
+            after = cursor == null || cursor.isEmpty() ? null : ReportCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Invalid cursor"));
+        }
+        int pageSize = Math.max(1, Math.min(limit == null ? 50 : limit, MAX_PAGE_SIZE));
+
+        return ResponseEntity.ok(keysetPage(reportService.getReportSummaries(after, pageSize), pageSize));
+    }
+
+    @GetMapping("/police/reports/export")
+    public ResponseEntity<StreamingResponseBody> exportReports(@RequestParam(defaultValue = "ndjson") String format) {
+        StreamingResponseBody body;
+        MediaType contentType;
+        String fileName;
+        if ("csv".equalsIgnoreCase(format)) {
+            body = reportExporter::writeCsv;
+            contentType = new MediaType("text", "csv");
+            fileName = "reports.csv";
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            body = reportExporter::writeNdjson;
+            contentType = new MediaType("application", "x-ndjson");
+            fileName = "reports.ndjson";
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok()
+            .contentType(contentType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .body(body);
+    }
+
+    @GetMapping("/police/reports/search")
+    public ResponseEntity<?> searchReports(@RequestParam("q") String query,
+                                           @RequestParam(defaultValue = "20") int limit) {
+        ReportSearchIndex.SearchResults results = reportSearchIndex.search(query, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        List<Long> ids = new ArrayList<>(results.getHits().size());
+        Map<Long, Float> scores = new HashMap<>();
+        for (ReportSearchIndex.SearchHit hit : results.getHits()) {
+            ids.add(hit.getReportId());
+            scores.put(hit.getReportId(), hit.getScore());
+        }
+        List<Map<String, Object>> ranked = new ArrayList<>(ids.size());
+        for (ReportSummary summary : reportService.getReportSummariesByIds(ids)) {
+            ranked.add(Map.of("score", scores.get(summary.getId()), "report", summary));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("query", query);
+        response.put("totalMatches", results.getTotalMatches());
+        response.put("complete", reportSearchIndex.isReady());
+        response.put("results", ranked);
+        return ResponseEntity.ok(response);
+    }
+
+    // Any combination of filters, answered from the in-memory column store; dates are ISO date-times, to is exclusive
+    @GetMapping("/police/reports/query")
+    public ResponseEntity<?> queryReports(@RequestParam(required = false) String status,
+                                          @RequestParam(required = false) String threatLevel,
+                                          @RequestParam(required = false) String downloadSource,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                          @RequestParam(defaultValue = "50") int limit,
+                                          @RequestParam(required = false) String cursor) {
+        int beforeRow;
+        try {
+            beforeRow = cursor == null || cursor.isEmpty() ? -1 : Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Invalid cursor"));
+        }
+        ReportColumnStore.QueryResult result = reportColumnStore.query(status, threatLevel, downloadSource, from, to,
+            beforeRow, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("total", result.getTotal());
+        response.put("reports", reportService.getReportSummariesByIds(result.getReportIds()));
+        response.put("nextCursor", result.getNextRow() < 0 ? null : String.valueOf(result.getNextRow()));
+        response.put("complete", reportColumnStore.isReady());
+        return ResponseEntity.ok(response);
+    }
+
+    // Live report-created / report-status-changed events; browsers resume with the Last-Event-ID header
+    @GetMapping(path = "/police/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long resumeAfter = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeAfter = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                // Not one of ours; start a fresh stream
+            }
+        }
+        return reportEventBroadcaster.subscribe(resumeAfter);
     }
 
     @GetMapping("/police/reports/{id}")
@@ -119,6 +339,9 @@ public class ReportController {
     public ResponseEntity<?> updateReportStatus(@PathVariable Long id, @RequestBody Map<String, String> statusData) {
         try {
             String status = statusData.get("status");
+            if (status == null || !REPORT_STATUSES.contains(status)) {
+                return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Status must be one of " + REPORT_STATUSES));
+            }
             Report updatedReport = reportService.updateReportStatus(id, status);
             
             if (updatedReport != null) {
@@ -135,21 +358,84 @@ public class ReportController {
         }
     }
 
+    // One call instead of a PUT per report, e.g. to close out a whole campaign
+    @PutMapping("/police/reports/status")
+    public ResponseEntity<?> updateReportStatuses(@RequestBody BulkStatusUpdateRequest request) {
+        String status = request.getStatus();
+        if (status == null || !REPORT_STATUSES.contains(status)) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Status must be one of " + REPORT_STATUSES));
+        }
+        int selectors = (request.getIds() != null ? 1 : 0) + (request.getCampaignId() != null ? 1 : 0)
+            + (request.getFilter() != null ? 1 : 0);
+        if (selectors != 1) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Specify exactly one of ids, campaignId or filter"));
+        }
+        if (request.getFilter() != null && request.getFilter().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Filter needs at least one of status, threatLevel, from or to"));
+        }
+
+        List<Long> ids = request.getIds();
+        if (request.getCampaignId() != null) {
+            ReportCampaignClusterer.CampaignMembers members =
+                campaignClusterer.getCampaignMembers(request.getCampaignId(), Integer.MAX_VALUE);
+            if (members == null) {
+                return ResponseEntity.notFound().build();
+            }
+            ids = members.getReportIds();
+        }
+        if (ids != null && ids.size() > maxBulkIds) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "At most " + maxBulkIds + " ids per request"));
+        }
+
+        Map<String, Long> changed = ids != null
+            ? reportService.updateReportStatuses(ids, status)
+            : reportService.updateReportStatuses(request.getFilter(), status);
+        long updated = changed.values().stream().mapToLong(Long::longValue).sum();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("status", status);
+        response.put("updated", updated);
+        response.put("updatedByPreviousStatus", changed);
+        if (ids != null) {
+            response.put("requested", ids.size());
+            response.put("unchanged", ids.size() - updated);
+        }
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/police/stats")
-    public ResponseEntity<?> getReportStats() {
+    public ResponseEntity<?> getReportStats(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return cachedJson("stats", ifNoneMatch, acceptEncoding, this::buildReportStats);
+    }
+
+    private Map<String, Object> buildReportStats() {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("total", reportService.getAllReports().size());
-        stats.put("pending", reportService.getReportCountByStatus("pending"));
-        stats.put("investigating", reportService.getReportCountByStatus("investigating"));
-        stats.put("resolved", reportService.getReportCountByStatus("resolved"));
+        stats.put("total", reportStatsService.getTotal());
+        stats.put("pending", reportStatsService.getCountByStatus("pending"));
+        stats.put("investigating", reportStatsService.getCountByStatus("investigating"));
+        stats.put("resolved", reportStatsService.getCountByStatus("resolved"));
+        stats.put("byThreatLevel", reportStatsService.getCountsByThreatLevel());
         
-        return ResponseEntity.ok(stats);
+        return stats;
     }
 
     @GetMapping("/police/reports/status/{status}")
-    public ResponseEntity<List<Report>> getReportsByStatus(@PathVariable String status) {
-        List<Report> reports = reportService.getReportsByStatus(status);
-        return ResponseEntity.ok(reports);
+    public ResponseEntity<?> getReportsByStatus(@PathVariable String status,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return cachedJson("reports/status/" + status, ifNoneMatch, acceptEncoding, () -> reportService.getReportsByStatus(status));
+    }
+
+    @GetMapping("/police/evidence/shared")
+    public ResponseEntity<?> getSharedEvidence(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(reportService.getSharedEvidenceCounts(Math.max(1, Math.min(limit, MAX_PAGE_SIZE))));
+    }
+
+    @GetMapping("/police/evidence/{sha256}/reports")
+    public ResponseEntity<List<ReportSummary>> getReportsByEvidence(@PathVariable String sha256) {
+        return ResponseEntity.ok(reportService.getReportsByEvidence(sha256));
     }
 
     @GetMapping("/police/reports/threat/{threatLevel}")
@@ -157,4 +443,40 @@ public class ReportController {
         List<Report> reports = reportService.getReportsByThreatLevel(threatLevel);
         return ResponseEntity.ok(reports);
     }
-}
\ No newline at end of file
+
+    // Serves the cached serialization: 304 when the client's ETag still matches, gzip bytes when accepted
+    private ResponseEntity<byte[]> cachedJson(String key, String ifNoneMatch, String acceptEncoding, Supplier<Object> body) {
+        ResponseCache.CachedResponse cached = responseCache.get(key, body);
+        boolean gzip = cached.getGzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? cached.getGzipEtag() : cached.getEtag();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (ifNoneMatch != null && etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(response.build().getHeaders()).build();
+        }
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cached.getGzip());
+        }
+        return response.body(cached.getJson());
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || candidate.equals(etag) || candidate.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, Object> keysetPage(List<ReportSummary> reports, int pageSize) {
+        Map<String, Object> page = new HashMap<>();
+        page.put("reports", reports);
+        page.put("nextCursor", reports.size() < pageSize ? null : ReportCursor.of(reports.get(reports.size() - 1)).encode());
+        return page;
+    }
+}
@@ -0,0 +1,75 @@
+package com.portal.controller;
+
+import com.portal.dto.ReportSummary;
+import com.portal.service.ReportService;
+import com.portal.service.ReportTriageQueue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/police/triage")
+@CrossOrigin(origins = "*")
+public class TriageController {
+
+    @Autowired
+    private ReportTriageQueue triageQueue;
+
+    @Autowired
+    private ReportService reportService;
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @GetMapping
+    public ResponseEntity<?> getQueue(@RequestParam(defaultValue = "20") int limit) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("next", triageQueue.peek(Math.max(1, Math.min(limit, MAX_PAGE_SIZE))));
+        response.put("pending", triageQueue.getPendingCount());
+        response.put("leased", triageQueue.getLeasedCount());
+        response.put("complete", triageQueue.isReady());
+        return ResponseEntity.ok(response);
+    }
+
+    // Leases the best waiting report to the calling officer; 204 when the queue is empty
+    @PostMapping("/claim")
+    public ResponseEntity<?> claim(Authentication authentication) {
+        ReportTriageQueue.Lease lease = triageQueue.claim(authentication.getName());
+        if (lease == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(toResponse(lease));
+    }
+
+    @PostMapping("/{id}/renew")
+    public ResponseEntity<?> renew(@PathVariable Long id, Authentication authentication) {
+        ReportTriageQueue.Lease lease = triageQueue.renew(id, authentication.getName());
+        if (lease == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("success", false, "message", "Lease not held"));
+        }
+        return ResponseEntity.ok(toResponse(lease));
+    }
+
+    @PostMapping("/{id}/release")
+    public ResponseEntity<?> release(@PathVariable Long id, Authentication authentication) {
+        if (!triageQueue.release(id, authentication.getName())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("success", false, "message", "Lease not held"));
+        }
+        return ResponseEntity.ok(Map.of("success", true));
+    }
+
+    private Map<String, Object> toResponse(ReportTriageQueue.Lease lease) {
+        List<ReportSummary> reports = reportService.getReportSummariesByIds(List.of(lease.getReportId()));
+        Map<String, Object> response = new HashMap<>();
+        response.put("reportId", lease.getReportId());
+        response.put("score", lease.getScore());
+        response.put("leaseExpiresAt", lease.getExpiresAt());
+        response.put("report", reports.isEmpty() ? null : reports.get(0));
+        return response;
+    }
+}
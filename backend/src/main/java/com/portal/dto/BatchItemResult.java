@@ -0,0 +1,56 @@
+package com.portal.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+// Outcome of a single item in a batch submission, reported back in request order
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    private final int index;
+    private final boolean success;
+    private final Long reportId;
+    private final String ticketId;
+    private final Map<String, String> errors;
+
+    private BatchItemResult(int index, boolean success, Long reportId, String ticketId, Map<String, String> errors) {
+        this.index = index;
+        this.success = success;
+        this.reportId = reportId;
+        this.ticketId = ticketId;
+        this.errors = errors;
+    }
+
+    public static BatchItemResult accepted(int index, Long reportId) {
+        return new BatchItemResult(index, true, reportId, null, null);
+    }
+
+    // Accepted into the write-behind queue; the report id is assigned when the queue commits it
+    public static BatchItemResult queued(int index, String ticketId) {
+        return new BatchItemResult(index, true, null, ticketId, null);
+    }
+
+    public static BatchItemResult rejected(int index, Map<String, String> errors) {
+        return new BatchItemResult(index, false, null, null, errors);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public Long getReportId() {
+        return reportId;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,43 @@
+package com.portal.dto;
+
+import java.util.List;
+
+// Body of PUT /api/police/reports/status: the new status plus exactly one of ids, campaignId or filter
+public class BulkStatusUpdateRequest {
+    private String status;
+    private List<Long> ids;
+    private Long campaignId;
+    private ReportFilter filter;
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public Long getCampaignId() {
+        return campaignId;
+    }
+
+    public void setCampaignId(Long campaignId) {
+        this.campaignId = campaignId;
+    }
+
+    public ReportFilter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(ReportFilter filter) {
+        this.filter = filter;
+    }
+}
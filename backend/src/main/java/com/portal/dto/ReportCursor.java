@@ -0,0 +1,48 @@
+package com.portal.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque keyset position (reportDate, id) handed to clients as a URL-safe token
+public class ReportCursor {
+    private final LocalDateTime reportDate;
+    private final Long id;
+
+    public ReportCursor(LocalDateTime reportDate, Long id) {
+        this.reportDate = reportDate;
+        this.id = id;
+    }
+
+    public static ReportCursor of(ReportSummary summary) {
+        return new ReportCursor(summary.getReportDate(), summary.getId());
+    }
+
+    public static ReportCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ReportCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = reportDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getReportDate() {
+        return reportDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
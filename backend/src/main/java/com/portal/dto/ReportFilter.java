@@ -0,0 +1,48 @@
+package com.portal.dto;
+
+import java.time.LocalDateTime;
+
+// Selects reports for bulk operations; null fields match everything, the date range is [from, to)
+public class ReportFilter {
+    private String status;
+    private String threatLevel;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    // A filter with no criteria would select every report
+    public boolean isEmpty() {
+        return status == null && threatLevel == null && from == null && to == null;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getThreatLevel() {
+        return threatLevel;
+    }
+
+    public void setThreatLevel(String threatLevel) {
+        this.threatLevel = threatLevel;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+}
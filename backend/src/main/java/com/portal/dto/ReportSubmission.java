@@ -0,0 +1,58 @@
+package com.portal.dto;
+
+import com.portal.model.Report;
+
+import java.util.Map;
+
+// Outcome of a single citizen submission: saved at once, or, in write-behind mode, accepted into the ingest queue
+public class ReportSubmission {
+
+    public enum Outcome { SAVED, QUEUED, INVALID, QUEUE_FULL }
+
+    private final Outcome outcome;
+    private final Report report;
+    private final String ticketId;
+    private final Map<String, String> errors;
+
+    private ReportSubmission(Outcome outcome, Report report, String ticketId, Map<String, String> errors) {
+        this.outcome = outcome;
+        this.report = report;
+        this.ticketId = ticketId;
+        this.errors = errors;
+    }
+
+    public static ReportSubmission saved(Report report) {
+        return new ReportSubmission(Outcome.SAVED, report, null, null);
+    }
+
+    public static ReportSubmission queued(String ticketId) {
+        return new ReportSubmission(Outcome.QUEUED, null, ticketId, null);
+    }
+
+    public static ReportSubmission invalid(Map<String, String> errors) {
+        return new ReportSubmission(Outcome.INVALID, null, null, errors);
+    }
+
+    public static ReportSubmission queueFull() {
+        return new ReportSubmission(Outcome.QUEUE_FULL, null, null, null);
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    // Set when SAVED
+    public Report getReport() {
+        return report;
+    }
+
+    // Set when QUEUED
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    // Set when INVALID
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,59 @@
+package com.portal.dto;
+
+import java.time.LocalDateTime;
+
+// Lightweight read model for report listings; deliberately omits the TEXT description and the citizen
+public class ReportSummary {
+    private final Long id;
+    private final String suspiciousAppName;
+    private final String victimName;
+    private final String downloadSource;
+    private final String threatLevel;
+    private final String status;
+    private final String evidenceFileName;
+    private final LocalDateTime reportDate;
+
+    public ReportSummary(Long id, String suspiciousAppName, String victimName, String downloadSource,
+                         String threatLevel, String status, String evidenceFileName, LocalDateTime reportDate) {
+        this.id = id;
+        this.suspiciousAppName = suspiciousAppName;
+        this.victimName = victimName;
+        this.downloadSource = downloadSource;
+        this.threatLevel = threatLevel;
+        this.status = status;
+        this.evidenceFileName = evidenceFileName;
+        this.reportDate = reportDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getSuspiciousAppName() {
+        return suspiciousAppName;
+    }
+
+    public String getVictimName() {
+        return victimName;
+    }
+
+    public String getDownloadSource() {
+        return downloadSource;
+    }
+
+    public String getThreatLevel() {
+        return threatLevel;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getEvidenceFileName() {
+        return evidenceFileName;
+    }
+
+    public LocalDateTime getReportDate() {
+        return reportDate;
+    }
+}
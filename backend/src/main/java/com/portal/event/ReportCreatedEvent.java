@@ -0,0 +1,15 @@
+package com.portal.event;
+
+import com.portal.model.Report;
+
+public class ReportCreatedEvent {
+    private final Report report;
+
+    public ReportCreatedEvent(Report report) {
+        this.report = report;
+    }
+
+    public Report getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,21 @@
+package com.portal.event;
+
+import com.portal.model.Report;
+
+public class ReportStatusChangedEvent {
+    private final Report report;
+    private final String previousStatus;
+
+    public ReportStatusChangedEvent(Report report, String previousStatus) {
+        this.report = report;
+        this.previousStatus = previousStatus;
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+}
@@ -0,0 +1,57 @@
+package com.portal.event;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One chunk of a bulk status transition; published instead of a ReportStatusChangedEvent per report
+public class ReportsStatusChangedEvent {
+    private final String status;
+    private final List<StatusChange> changes;
+
+    public ReportsStatusChangedEvent(String status, List<StatusChange> changes) {
+        this.status = status;
+        this.changes = changes;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public List<StatusChange> getChanges() {
+        return changes;
+    }
+
+    public Map<String, Long> getCountsByPreviousStatus() {
+        Map<String, Long> counts = new HashMap<>();
+        for (StatusChange change : changes) {
+            counts.merge(change.getPreviousStatus(), 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    public static class StatusChange {
+        private final Long reportId;
+        private final String previousStatus;
+        private final LocalDateTime reportDate;
+
+        public StatusChange(Long reportId, String previousStatus, LocalDateTime reportDate) {
+            this.reportId = reportId;
+            this.previousStatus = previousStatus;
+            this.reportDate = reportDate;
+        }
+
+        public Long getReportId() {
+            return reportId;
+        }
+
+        public String getPreviousStatus() {
+            return previousStatus;
+        }
+
+        public LocalDateTime getReportDate() {
+            return reportDate;
+        }
+    }
+}
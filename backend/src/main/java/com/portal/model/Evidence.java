@@ -0,0 +1,110 @@
+package com.portal.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+import java.time.LocalDateTime;
+
+// One stored evidence file, addressed by the SHA-256 of its content and shared by every upload of it.
+// Persistable, so saving a new instance with its assigned id is an INSERT rather than a merge: a concurrent first
+// upload of the same content then fails on the primary key instead of overwriting the reference count.
+@Entity
+@Table(name = "evidence")
+public class Evidence implements Persistable<String> {
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    private long size;
+
+    private String contentType;
+
+    private String originalFileName;
+
+    private long referenceCount;
+
+    private LocalDateTime uploadedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    // Default constructor
+    public Evidence() {}
+
+    // Constructor
+    public Evidence(String sha256, long size, String contentType, String originalFileName) {
+        this.sha256 = sha256;
+        this.size = size;
+        this.contentType = contentType;
+        this.originalFileName = originalFileName;
+        this.referenceCount = 1;
+        this.uploadedAt = LocalDateTime.now();
+    }
+
+    @Override
+    @JsonIgnore
+    public String getId() {
+        return sha256;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    // Getters and Setters
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getOriginalFileName() {
+        return originalFileName;
+    }
+
+    public void setOriginalFileName(String originalFileName) {
+        this.originalFileName = originalFileName;
+    }
+
+    public long getReferenceCount() {
+        return referenceCount;
+    }
+
+    public void setReferenceCount(long referenceCount) {
+        this.referenceCount = referenceCount;
+    }
+
+    public LocalDateTime getUploadedAt() {
+        return uploadedAt;
+    }
+
+    public void setUploadedAt(LocalDateTime uploadedAt) {
+        this.uploadedAt = uploadedAt;
+    }
+}
@@ -1,16 +1,24 @@
 package com.portal.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reports")
+@Table(name = "reports", indexes = {
+    @Index(name = "idx_reports_date_id", columnList = "reportDate, id"),
+    @Index(name = "idx_reports_evidence_sha256", columnList = "evidenceSha256"),
+    @Index(name = "idx_reports_citizen_date_id", columnList = "citizen_id, reportDate, id")
+})
 public class Report {
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one round trip per row
     @Id 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_seq")
+    @SequenceGenerator(name = "report_seq", sequenceName = "report_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Suspicious app name is required")
@@ -26,6 +34,7 @@ public class Report {
     private String downloadSource;
 
     @NotBlank(message = "Threat level is required")
+    @Pattern(regexp = "low|medium|high|critical", message = "Threat level must be one of low, medium, high, critical")
     private String threatLevel;
 
     @Column(length = 65535, columnDefinition = "TEXT")
@@ -33,12 +42,21 @@ public class Report {
     private String description;
 
     private String evidenceFileName;
+
+    @Column(length = 64)
+    private String evidenceSha256;
+
+    // Comma-separated tags of the known indicators this report matched on submission
+    @Column(length = 512)
+    private String tags;
     
     private String status = "pending"; // pending, investigating, resolved
 
     @NotNull
     private LocalDateTime reportDate;
 
+    // Never serialized: it is a lazy proxy outside the session, and the user carries the password hash
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "citizen_id")
     private User citizen;
@@ -128,6 +146,22 @@ public class Report {
         this.evidenceFileName = evidenceFileName;
     }
 
+    public String getEvidenceSha256() {
+        return evidenceSha256;
+    }
+
+    public void setEvidenceSha256(String evidenceSha256) {
+        this.evidenceSha256 = evidenceSha256;
+    }
+
+    public String getTags() {
+        return tags;
+    }
+
+    public void setTags(String tags) {
+        this.tags = tags;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -0,0 +1,17 @@
+package com.portal.repository;
+
+import com.portal.model.Evidence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface EvidenceRepository extends JpaRepository<Evidence, String> {
+    @Transactional
+    @Modifying
+    @Query("UPDATE Evidence e SET e.referenceCount = e.referenceCount + 1 WHERE e.sha256 = :sha256")
+    int incrementReferenceCount(@Param("sha256") String sha256);
+}
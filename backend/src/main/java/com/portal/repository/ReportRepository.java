@@ -1,21 +1,131 @@
 package com.portal.repository;
 
+import com.portal.dto.ReportSummary;
 import com.portal.model.Report;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ReportRepository extends JpaRepository<Report, Long> {
-    List<Report> findAllByCitizenUsername(String username);
+    int STREAM_FETCH_SIZE = 1000;
+
     List<Report> findByStatus(String status);
     List<Report> findByThreatLevel(String threatLevel);
     
+    @Query("SELECT r.id FROM Report r WHERE r.status = :status ORDER BY r.id")
+    List<Long> findIdsByStatus(@Param("status") String status);
+
+    @Query("SELECT r.id FROM Report r WHERE r.threatLevel = :threatLevel ORDER BY r.id")
+    List<Long> findIdsByThreatLevel(@Param("threatLevel") String threatLevel);
+
     @Query("SELECT COUNT(r) FROM Report r WHERE r.status = :status")
     long countByStatus(@Param("status") String status);
+
+    @Query("SELECT r.status, COUNT(r) FROM Report r GROUP BY r.status")
+    List<Object[]> countGroupByStatus();
+
+    @Query("SELECT r.threatLevel, COUNT(r) FROM Report r GROUP BY r.threatLevel")
+    List<Object[]> countGroupByThreatLevel();
     
     @Query("SELECT r FROM Report r ORDER BY r.reportDate DESC")
     List<Report> findAllOrderByReportDateDesc();
-}
\ No newline at end of file
+
+    // Keyset pagination over idx_reports_date_id; only the first page of the Pageable is ever requested
+    @Query("SELECT new com.portal.dto.ReportSummary(r.id, r.suspiciousAppName, r.victimName, r.downloadSource, " +
+           "r.threatLevel, r.status, r.evidenceFileName, r.reportDate) " +
+           "FROM Report r ORDER BY r.reportDate DESC, r.id DESC")
+    List<ReportSummary> findSummaryPage(Pageable pageable);
+
+    @Query("SELECT new com.portal.dto.ReportSummary(r.id, r.suspiciousAppName, r.victimName, r.downloadSource, " +
+           "r.threatLevel, r.status, r.evidenceFileName, r.reportDate) " +
+           "FROM Report r WHERE r.reportDate < :reportDate OR (r.reportDate = :reportDate AND r.id < :id) " +
+           "ORDER BY r.reportDate DESC, r.id DESC")
+    List<ReportSummary> findSummaryPageAfter(@Param("reportDate") LocalDateTime reportDate,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    // Citizen history over idx_reports_citizen_date_id; r.citizen.id is the foreign key column, so users is never joined
+    @Query("SELECT new com.portal.dto.ReportSummary(r.id, r.suspiciousAppName, r.victimName, r.downloadSource, " +
+           "r.threatLevel, r.status, r.evidenceFileName, r.reportDate) " +
+           "FROM Report r WHERE r.citizen.id = :citizenId ORDER BY r.reportDate DESC, r.id DESC")
+    List<ReportSummary> findSummaryPageByCitizen(@Param("citizenId") Long citizenId, Pageable pageable);
+
+    @Query("SELECT new com.portal.dto.ReportSummary(r.id, r.suspiciousAppName, r.victimName, r.downloadSource, " +
+           "r.threatLevel, r.status, r.evidenceFileName, r.reportDate) " +
+           "FROM Report r WHERE r.citizen.id = :citizenId " +
+           "AND (r.reportDate < :reportDate OR (r.reportDate = :reportDate AND r.id < :id)) " +
+           "ORDER BY r.reportDate DESC, r.id DESC")
+    List<ReportSummary> findSummaryPageByCitizenAfter(@Param("citizenId") Long citizenId,
+                                                      @Param("reportDate") LocalDateTime reportDate,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
+
+    @Query("SELECT new com.portal.dto.ReportSummary(r.id, r.suspiciousAppName, r.victimName, r.downloadSource, " +
+           "r.threatLevel, r.status, r.evidenceFileName, r.reportDate) " +
+           "FROM Report r WHERE r.id IN :ids")
+    List<ReportSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.portal.dto.ReportSummary(r.id, r.suspiciousAppName, r.victimName, r.downloadSource, " +
+           "r.threatLevel, r.status, r.evidenceFileName, r.reportDate) " +
+           "FROM Report r WHERE r.evidenceSha256 = :sha256 ORDER BY r.reportDate DESC, r.id DESC")
+    List<ReportSummary> findSummariesByEvidenceSha256(@Param("sha256") String sha256);
+
+    // Evidence samples shared by more than one report, most widely reported first
+    @Query("SELECT r.evidenceSha256, COUNT(r) FROM Report r WHERE r.evidenceSha256 IS NOT NULL " +
+           "GROUP BY r.evidenceSha256 HAVING COUNT(r) > 1 ORDER BY COUNT(r) DESC")
+    List<Object[]> countSharedEvidence(Pageable pageable);
+
+    // Bulk status transitions: select (id, status, reportDate) of the rows that would change, then update them with one
+    // statement per previous status so every change can be reported with its previous status. The selected rows are
+    // locked until the chunk commits, so the UPDATE changes exactly the rows the SELECT returned.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r.id, r.status, r.reportDate FROM Report r WHERE r.id IN :ids AND r.status <> :status")
+    List<Object[]> findStatusesToChange(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    // Keyset-chunked by id; only the first page of the Pageable is ever requested
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r.id, r.status, r.reportDate FROM Report r WHERE r.id > :afterId AND r.status <> :status " +
+           "AND (:currentStatus IS NULL OR r.status = :currentStatus) " +
+           "AND (:threatLevel IS NULL OR r.threatLevel = :threatLevel) " +
+           "AND (:from IS NULL OR r.reportDate >= :from) AND (:to IS NULL OR r.reportDate < :to) " +
+           "ORDER BY r.id")
+    List<Object[]> findStatusesToChangeMatching(@Param("afterId") Long afterId,
+                                                @Param("status") String status,
+                                                @Param("currentStatus") String currentStatus,
+                                                @Param("threatLevel") String threatLevel,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to,
+                                                Pageable pageable);
+
+    @Query("SELECT r.id FROM Report r WHERE r.id IN :ids AND r.status = :status")
+    List<Long> findIdsWithStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Report r SET r.status = :status WHERE r.id IN :ids AND r.status = :previousStatus")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("previousStatus") String previousStatus,
+                     @Param("status") String status);
+
+    // Must be consumed inside a transaction; rows are fetched from the cursor STREAM_FETCH_SIZE at a time
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Report r ORDER BY r.id")
+    Stream<Report> streamAllOrderById();
+}
@@ -0,0 +1,151 @@
+package com.portal.service;
+
+import com.portal.model.Evidence;
+import com.portal.repository.EvidenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// Content-addressed evidence store: uploads are hashed while they stream to disk and identical files are kept once
+@Service
+public class EvidenceStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(EvidenceStorageService.class);
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private EvidenceRepository evidenceRepository;
+
+    @Value("${portal.evidence.dir:uploads}")
+    private String evidenceDir;
+
+    public static boolean isContentAddress(String fileName) {
+        return fileName != null && SHA256_HEX.matcher(fileName).matches();
+    }
+
+    public StoredEvidence store(MultipartFile file) throws IOException {
+        Path root = Paths.get(evidenceDir);
+        Path tempDir = Files.createDirectories(root.resolve("tmp"));
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (ReadableByteChannel in = Channels.newChannel(file.getInputStream());
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        size += out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(sha256);
+            boolean stored = false;
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    stored = true;
+                } catch (FileAlreadyExistsException e) {
+                    // A concurrent upload of the same content won the race
+                }
+            }
+
+            Evidence evidence = addReference(sha256, size, file.getContentType(), file.getOriginalFilename());
+            return new StoredEvidence(evidence, !stored);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Content-addressed path uploads/sha256/ab/abcd..., fanned out so no directory grows unbounded
+    public Path resolve(String sha256) {
+        return Paths.get(evidenceDir, "sha256", sha256.substring(0, 2), sha256);
+    }
+
+    // Finds a stored file by digest, or by name for files uploaded before content addressing
+    public Optional<Path> locate(String fileName) {
+        Path path;
+        if (isContentAddress(fileName)) {
+            path = resolve(fileName);
+        } else {
+            Path root = Paths.get(evidenceDir).toAbsolutePath().normalize();
+            path = root.resolve(fileName).normalize();
+            if (!root.equals(path.getParent())) {
+                return Optional.empty();
+            }
+        }
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public Optional<Evidence> findEvidence(String sha256) {
+        return evidenceRepository.findById(sha256);
+    }
+
+    private Evidence addReference(String sha256, long size, String contentType, String originalFileName) {
+        if (evidenceRepository.incrementReferenceCount(sha256) > 0) {
+            return evidenceRepository.findById(sha256).orElseThrow();
+        }
+        try {
+            // Flushed here so a concurrent first upload surfaces as a key violation inside this try
+            return evidenceRepository.saveAndFlush(new Evidence(sha256, size, contentType, originalFileName));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Evidence {} registered concurrently, adding reference instead", sha256);
+            evidenceRepository.incrementReferenceCount(sha256);
+            return evidenceRepository.findById(sha256).orElseThrow();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static class StoredEvidence {
+        private final Evidence evidence;
+        private final boolean duplicate;
+
+        StoredEvidence(Evidence evidence, boolean duplicate) {
+            this.evidence = evidence;
+            this.duplicate = duplicate;
+        }
+
+        public Evidence getEvidence() {
+            return evidence;
+        }
+
+        public boolean isDuplicate() {
+            return duplicate;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.portal.service;
+
+import com.portal.model.Report;
+import com.portal.util.AhoCorasick;
+import com.portal.util.DownloadSources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+// Checks new reports against known fake-app indicators before they are saved. App names, URL fragments and
+// description phrases are compiled into one Aho-Corasick automaton per field, and domains into a trie of reversed
+// labels that also matches subdomains. A match raises the report's threat level to the indicator's level and adds
+// the indicator's tag. The compiled set is immutable and swapped in whole on reload, so matching never locks.
+@Service
+public class IndicatorMatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(IndicatorMatcher.class);
+
+    public static final List<String> THREAT_LEVELS = List.of("low", "medium", "high", "critical");
+    private static final List<String> KINDS = List.of("app", "domain", "url", "text");
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Value("${portal.indicators.location:classpath:indicators.csv}")
+    private String location;
+
+    private volatile Indicators indicators = Indicators.compile(List.of(), 0);
+    private final LongAdder checkedReports = new LongAdder();
+    private final LongAdder matchedReports = new LongAdder();
+    private final LongAdder raisedReports = new LongAdder();
+
+    @PostConstruct
+    public void load() {
+        try {
+            reload();
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Indicators not loaded from {}: {}", location, e.getMessage());
+        }
+    }
+
+    // Parses and compiles the indicator file, then swaps it in; on error the current set stays active
+    public synchronized int reload() throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        List<Indicator> parsed = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    parsed.add(parse(line, lineNumber));
+                }
+            }
+        }
+        long start = System.nanoTime();
+        Indicators compiled = Indicators.compile(parsed, indicators.version + 1);
+        indicators = compiled;
+        log.info("Loaded {} indicators (version {}) from {} in {} ms", parsed.size(), compiled.version, location,
+            (System.nanoTime() - start) / 1_000_000);
+        return parsed.size();
+    }
+
+    // Applied to every new report before it is saved
+    public void apply(Report report) {
+        checkedReports.increment();
+        Indicators current = indicators;
+        List<Indicator> matches = current.match(report);
+        if (matches.isEmpty()) {
+            return;
+        }
+        matchedReports.increment();
+
+        Set<String> tags = new LinkedHashSet<>();
+        if (report.getTags() != null && !report.getTags().isEmpty()) {
+            tags.addAll(Arrays.asList(report.getTags().split(",")));
+        }
+        String threatLevel = report.getThreatLevel();
+        for (Indicator indicator : matches) {
+            tags.add(indicator.tag);
+            if (rank(indicator.threatLevel) > rank(threatLevel)) {
+                threatLevel = indicator.threatLevel;
+            }
+        }
+        report.setTags(String.join(",", tags));
+        if (!Objects.equals(threatLevel, report.getThreatLevel())) {
+            report.setThreatLevel(threatLevel);
+            raisedReports.increment();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Indicators current = indicators;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("location", location);
+        stats.put("version", current.version);
+        stats.put("loadedAt", current.loadedAt);
+        stats.put("indicators", current.countsByKind);
+        stats.put("checkedReports", checkedReports.sum());
+        stats.put("matchedReports", matchedReports.sum());
+        stats.put("raisedReports", raisedReports.sum());
+        return stats;
+    }
+
+    private static int rank(String threatLevel) {
+        return threatLevel == null ? -1 : THREAT_LEVELS.indexOf(threatLevel.toLowerCase(Locale.ROOT));
+    }
+
+    // kind,threatLevel,tag,value - the value is last so it may contain commas
+    private static Indicator parse(String line, int lineNumber) {
+        String[] fields = line.split(",", 4);
+        if (fields.length < 4 || fields[3].isBlank()) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": expected kind,threatLevel,tag,value");
+        }
+        String kind = fields[0].trim().toLowerCase(Locale.ROOT);
+        String threatLevel = fields[1].trim().toLowerCase(Locale.ROOT);
+        String tag = fields[2].trim();
+        if (!KINDS.contains(kind)) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": kind must be one of " + KINDS);
+        }
+        if (!THREAT_LEVELS.contains(threatLevel)) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": threat level must be one of " + THREAT_LEVELS);
+        }
+        if (tag.isEmpty() || tag.contains(",")) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": tag is required");
+        }
+        return new Indicator(kind, threatLevel, tag, fields[3].trim());
+    }
+
+    private static class Indicator {
+        final String kind;
+        final String threatLevel;
+        final String tag;
+        final String value;
+
+        Indicator(String kind, String threatLevel, String tag, String value) {
+            this.kind = kind;
+            this.threatLevel = threatLevel;
+            this.tag = tag;
+            this.value = value;
+        }
+    }
+
+    // One compiled, immutable indicator set
+    private static class Indicators {
+        final int version;
+        final LocalDateTime loadedAt = LocalDateTime.now();
+        final Map<String, Integer> countsByKind = new HashMap<>();
+        final List<Indicator> appIndicators = new ArrayList<>();
+        final List<Indicator> urlIndicators = new ArrayList<>();
+        final List<Indicator> textIndicators = new ArrayList<>();
+        final DomainNode domains = new DomainNode();
+        AhoCorasick apps;
+        AhoCorasick urls;
+        AhoCorasick texts;
+
+        private Indicators(int version) {
+            this.version = version;
+        }
+
+        static Indicators compile(List<Indicator> indicators, int version) {
+            Indicators compiled = new Indicators(version);
+            for (Indicator indicator : indicators) {
+                compiled.countsByKind.merge(indicator.kind, 1, Integer::sum);
+                switch (indicator.kind) {
+                    case "app":
+                        compiled.appIndicators.add(indicator);
+                        break;
+                    case "url":
+                        compiled.urlIndicators.add(indicator);
+                        break;
+                    case "text":
+                        compiled.textIndicators.add(indicator);
+                        break;
+                    default:
+                        compiled.domains.add(DownloadSources.host(indicator.value), indicator);
+                }
+            }
+            compiled.apps = AhoCorasick.build(values(compiled.appIndicators));
+            compiled.urls = AhoCorasick.build(values(compiled.urlIndicators));
+            compiled.texts = AhoCorasick.build(values(compiled.textIndicators));
+            return compiled;
+        }
+
+        List<Indicator> match(Report report) {
+            List<Indicator> matches = new ArrayList<>();
+            collect(apps, appIndicators, report.getSuspiciousAppName(), matches);
+            collect(urls, urlIndicators, report.getDownloadSource(), matches);
+            collect(texts, textIndicators, report.getDescription(), matches);
+            domains.match(DownloadSources.host(report.getDownloadSource()), matches);
+            return matches;
+        }
+
+        private static void collect(AhoCorasick automaton, List<Indicator> indicators, String text, List<Indicator> matches) {
+            for (int index : automaton.findAll(text)) {
+                matches.add(indicators.get(index));
+            }
+        }
+
+        private static List<String> values(List<Indicator> indicators) {
+            List<String> values = new ArrayList<>(indicators.size());
+            for (Indicator indicator : indicators) {
+                values.add(indicator.value);
+            }
+            return values;
+        }
+    }
+
+    // Trie over domain labels from the top-level domain down, so "fake-bank.example" also matches "login.fake-bank.example"
+    private static class DomainNode {
+        final Map<String, DomainNode> children = new HashMap<>();
+        Indicator indicator;
+
+        void add(String domain, Indicator value) {
+            if (domain == null || domain.isEmpty()) {
+                return;
+            }
+            String[] labels = domain.split("\\.");
+            DomainNode node = this;
+            for (int i = labels.length - 1; i >= 0; i--) {
+                node = node.children.computeIfAbsent(labels[i], label -> new DomainNode());
+            }
+            if (node.indicator == null) {
+                node.indicator = value;
+            }
+        }
+
+        void match(String host, List<Indicator> matches) {
+            if (host == null || host.isEmpty()) {
+                return;
+            }
+            DomainNode node = this;
+            int end = host.length();
+            while (end > 0) {
+                int dot = host.lastIndexOf('.', end - 1);
+                node = node.children.get(host.substring(dot + 1, end));
+                if (node == null) {
+                    return;
+                }
+                if (node.indicator != null) {
+                    matches.add(node.indicator);
+                }
+                end = dot;
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.portal.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.portal.event.ReportCreatedEvent;
+import com.portal.event.ReportStatusChangedEvent;
+import com.portal.event.ReportsStatusChangedEvent;
+import com.portal.model.Report;
+import com.portal.repository.ReportRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+// Read-through caches for report detail and for the id lists behind the status / threat-level filters.
+// Report events invalidate exactly the entries they affect once the change has committed; the TTL only bounds
+// staleness from a read that raced with a commit. Cached entities are detached and must be treated as read-only.
+@Service
+public class ReportCache {
+
+    private static final String STATUS_PREFIX = "status:";
+    private static final String THREAT_LEVEL_PREFIX = "threat:";
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final ReportRepository reportRepository;
+    private final Cache<Long, Report> reports;
+    private final Cache<String, List<Long>> idLists;
+    private final long maxSize;
+
+    @Autowired
+    public ReportCache(ReportRepository reportRepository,
+                       @Value("${portal.cache.reports.max-size:50000}") long maxSize,
+                       @Value("${portal.cache.reports.list-max-size:64}") long listMaxSize,
+                       @Value("${portal.cache.reports.ttl:10m}") Duration ttl) {
+        this.reportRepository = reportRepository;
+        this.maxSize = maxSize;
+        this.reports = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        this.idLists = Caffeine.newBuilder()
+            .maximumSize(listMaxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    public Optional<Report> findById(Long id) {
+        // Missing ids are not cached, so a report created later is visible immediately
+        return Optional.ofNullable(reports.get(id, key -> reportRepository.findById(key).orElse(null)));
+    }
+
+    public List<Report> findByStatus(String status) {
+        return findAll(idLists.get(STATUS_PREFIX + status, key -> reportRepository.findIdsByStatus(status)),
+                       () -> reportRepository.findByStatus(status));
+    }
+
+    public List<Report> findByThreatLevel(String threatLevel) {
+        return findAll(idLists.get(THREAT_LEVEL_PREFIX + threatLevel, key -> reportRepository.findIdsByThreatLevel(threatLevel)),
+                       () -> reportRepository.findByThreatLevel(threatLevel));
+    }
+
+    // For updates that carry no event; the previous status and threat level are unknown, so all lists go
+    public void evict(Report report) {
+        if (report.getId() != null) {
+            reports.invalidate(report.getId());
+        }
+        idLists.invalidateAll();
+    }
+
+    // Ordered before ResponseCache, which bumps its version once the lists are invalidated
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportCreated(ReportCreatedEvent event) {
+        idLists.invalidate(STATUS_PREFIX + event.getReport().getStatus());
+        idLists.invalidate(THREAT_LEVEL_PREFIX + event.getReport().getThreatLevel());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportStatusChanged(ReportStatusChangedEvent event) {
+        reports.invalidate(event.getReport().getId());
+        idLists.invalidate(STATUS_PREFIX + event.getPreviousStatus());
+        idLists.invalidate(STATUS_PREFIX + event.getReport().getStatus());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportsStatusChanged(ReportsStatusChangedEvent event) {
+        Set<String> statuses = new HashSet<>();
+        statuses.add(event.getStatus());
+        List<Long> ids = new ArrayList<>(event.getChanges().size());
+        for (ReportsStatusChangedEvent.StatusChange change : event.getChanges()) {
+            ids.add(change.getReportId());
+            statuses.add(change.getPreviousStatus());
+        }
+        reports.invalidateAll(ids);
+        for (String status : statuses) {
+            idLists.invalidate(STATUS_PREFIX + status);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("reports", toStats(reports.stats(), reports.estimatedSize()));
+        result.put("reportLists", toStats(idLists.stats(), idLists.estimatedSize()));
+        return result;
+    }
+
+    // Lists too large to ever fit are loaded directly rather than flushing every cached detail entry
+    private List<Report> findAll(List<Long> ids, Supplier<List<Report>> uncached) {
+        if (ids.size() > maxSize / 2) {
+            return uncached.get();
+        }
+        Map<Long, Report> byId = reports.getAll(ids, this::loadAll);
+        List<Report> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Report report = byId.get(id);
+            if (report != null) {
+                ordered.add(report);
+            }
+        }
+        return ordered;
+    }
+
+    private Map<Long, Report> loadAll(Set<? extends Long> ids) {
+        Map<Long, Report> loaded = new HashMap<>();
+        List<Long> missing = new ArrayList<>(ids);
+        for (int start = 0; start < missing.size(); start += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = missing.subList(start, Math.min(start + LOAD_CHUNK_SIZE, missing.size()));
+            for (Report report : reportRepository.findAllById(chunk)) {
+                loaded.put(report.getId(), report);
+            }
+        }
+        return loaded;
+    }
+
+    private static Map<String, Object> toStats(CacheStats stats, long size) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("size", size);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
@@ -0,0 +1,409 @@
+package com.portal.service;
+
+import com.portal.event.ReportCreatedEvent;
+import com.portal.model.Report;
+import com.portal.util.DownloadSources;
+import com.portal.util.LongIntHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Groups reports about the same fake app into campaigns. Each report gets a 64-value MinHash signature over
+// character trigrams of the app name and download host plus word pairs of the description; LSH with 16 bands
+// of 4 rows finds earlier reports with a similar signature, and candidates above the similarity threshold are
+// merged with union-find. Assigning a report costs a few thousand hash mixes and at most 16 bucket lookups.
+@Service
+public class ReportCampaignClusterer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportCampaignClusterer.class);
+
+    private static final int NUM_HASHES = 64;
+    private static final int BANDS = 16;
+    private static final int ROWS = NUM_HASHES / BANDS;
+    private static final int MAX_DESCRIPTION_SHINGLES = 32;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    private static final long APP_SEED = 0x51A7E5L;
+    private static final long SOURCE_SEED = 0x50C7CEL;
+    private static final long DESCRIPTION_SEED = 0xDE5CL;
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    private ReportService reportService;
+
+    @Value("${portal.campaigns.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Value("${portal.campaigns.similarity-threshold:0.5}")
+    private double similarityThreshold;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongIntHashMap docsByReportId = new LongIntHashMap(1024, -1);
+    // LSH bucket -> first report (doc) that landed in it
+    private final LongIntHashMap buckets = new LongIntHashMap(1024, -1);
+    private long[] reportIds = new long[1024];
+    // Lowest 8 bits of every MinHash value (b-bit MinHash), NUM_HASHES bytes per doc
+    private byte[] signatures = new byte[1024 * NUM_HASHES];
+    // Union-find over docs; members of a campaign form a circular list through nextMembers
+    private int[] parents = new int[1024];
+    private int[] sizes = new int[1024];
+    private int[] nextMembers = new int[1024];
+    private int[] firstDocs = new int[1024];
+    private int docCount;
+    private int campaignCount;
+    private volatile boolean ready;
+
+    // Before the other listeners (ReportTriageQueue scores reports by campaign size)
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (rebuildOnStartup) {
+            long start = System.currentTimeMillis();
+            reportService.forEachReport(this::assign);
+            log.info("Clustered {} reports into {} campaigns in {} ms",
+                getDocumentCount(), getCampaignCount(), System.currentTimeMillis() - start);
+        }
+        ready = true;
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportCreated(ReportCreatedEvent event) {
+        assign(event.getReport());
+    }
+
+    public void assign(Report report) {
+        if (report.getId() == null) {
+            return;
+        }
+        long[] minHashes = minHashes(report);
+
+        lock.writeLock().lock();
+        try {
+            // Startup rebuild and live events can both deliver the same report
+            if (docsByReportId.containsKey(report.getId())) {
+                return;
+            }
+            int doc = docCount++;
+            if (doc == reportIds.length) {
+                grow(doc * 2);
+            }
+            reportIds[doc] = report.getId();
+            parents[doc] = doc;
+            sizes[doc] = 1;
+            nextMembers[doc] = doc;
+            firstDocs[doc] = doc;
+            campaignCount++;
+            docsByReportId.put(report.getId(), doc);
+            if (minHashes == null) {
+                return;
+            }
+
+            for (int i = 0; i < NUM_HASHES; i++) {
+                signatures[doc * NUM_HASHES + i] = (byte) minHashes[i];
+            }
+            for (int band = 0; band < BANDS; band++) {
+                long key = bandKey(minHashes, band);
+                int candidate = buckets.get(key);
+                if (candidate < 0) {
+                    buckets.put(key, doc);
+                } else if (root(candidate) != root(doc) && similarity(candidate, doc) >= similarityThreshold) {
+                    union(candidate, doc);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Largest campaigns first; a campaign is identified by its earliest report id
+    public List<Campaign> getCampaigns(int minSize, int limit) {
+        lock.readLock().lock();
+        try {
+            Comparator<Integer> smallestFirst = Comparator.<Integer>comparingInt(root -> sizes[root])
+                .thenComparing(root -> -reportIds[firstDocs[root]]);
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, smallestFirst);
+            for (int doc = 0; doc < docCount; doc++) {
+                if (parents[doc] == doc && sizes[doc] >= minSize) {
+                    top.add(doc);
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+            List<Campaign> campaigns = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int root = top.poll();
+                campaigns.add(0, new Campaign(reportIds[firstDocs[root]], sizes[root]));
+            }
+            return campaigns;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Newest members first. Any member's report id resolves to its campaign; null for unknown reports.
+    public CampaignMembers getCampaignMembers(long reportId, int limit) {
+        lock.readLock().lock();
+        try {
+            int doc = docsByReportId.get(reportId);
+            if (doc < 0) {
+                return null;
+            }
+            int root = root(doc);
+            long[] members = new long[sizes[root]];
+            int count = 0;
+            int member = root;
+            do {
+                members[count++] = reportIds[member];
+                member = nextMembers[member];
+            } while (member != root);
+            Arrays.sort(members);
+
+            List<Long> newest = new ArrayList<>(Math.min(limit, count));
+            for (int i = count - 1; i >= 0 && newest.size() < limit; i--) {
+                newest.add(members[i]);
+            }
+            return new CampaignMembers(new Campaign(reportIds[firstDocs[root]], sizes[root]), newest);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Size of the campaign a report belongs to; 0 for reports not clustered yet
+    public int getCampaignSize(long reportId) {
+        lock.readLock().lock();
+        try {
+            int doc = docsByReportId.get(reportId);
+            return doc < 0 ? 0 : sizes[root(doc)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Earliest report id of the campaign a report belongs to; -1 for reports not clustered yet
+    public long getCampaignId(long reportId) {
+        lock.readLock().lock();
+        try {
+            int doc = docsByReportId.get(reportId);
+            return doc < 0 ? -1 : reportIds[firstDocs[root(doc)]];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getCampaignCount() {
+        lock.readLock().lock();
+        try {
+            return campaignCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // No path compression: readers share the read lock, and union by size keeps trees O(log n) deep
+    private int root(int doc) {
+        while (parents[doc] != doc) {
+            doc = parents[doc];
+        }
+        return doc;
+    }
+
+    private void union(int a, int b) {
+        int rootA = root(a);
+        int rootB = root(b);
+        if (sizes[rootA] < sizes[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parents[rootB] = rootA;
+        sizes[rootA] += sizes[rootB];
+        if (reportIds[firstDocs[rootB]] < reportIds[firstDocs[rootA]]) {
+            firstDocs[rootA] = firstDocs[rootB];
+        }
+        // Swapping successors splices the two circular member lists into one
+        int next = nextMembers[rootA];
+        nextMembers[rootA] = nextMembers[rootB];
+        nextMembers[rootB] = next;
+        campaignCount--;
+    }
+
+    // Estimated Jaccard similarity, corrected for the 1/256 chance that 8-bit values collide
+    private double similarity(int a, int b) {
+        int agree = 0;
+        int offsetA = a * NUM_HASHES;
+        int offsetB = b * NUM_HASHES;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (signatures[offsetA + i] == signatures[offsetB + i]) {
+                agree++;
+            }
+        }
+        return ((double) agree / NUM_HASHES - 1.0 / 256) / (1 - 1.0 / 256);
+    }
+
+    private void grow(int capacity) {
+        reportIds = Arrays.copyOf(reportIds, capacity);
+        signatures = Arrays.copyOf(signatures, capacity * NUM_HASHES);
+        parents = Arrays.copyOf(parents, capacity);
+        sizes = Arrays.copyOf(sizes, capacity);
+        nextMembers = Arrays.copyOf(nextMembers, capacity);
+        firstDocs = Arrays.copyOf(firstDocs, capacity);
+    }
+
+    private static long bandKey(long[] minHashes, int band) {
+        long key = (band + 1) * GOLDEN;
+        for (int row = 0; row < ROWS; row++) {
+            key = mix(key ^ minHashes[band * ROWS + row]);
+        }
+        return key;
+    }
+
+    // Returns null when the report has nothing to compare on
+    private static long[] minHashes(Report report) {
+        long[] minHashes = new long[NUM_HASHES];
+        Arrays.fill(minHashes, Long.MAX_VALUE);
+        int shingles = addTrigrams(minHashes, APP_SEED, normalize(report.getSuspiciousAppName()))
+            + addTrigrams(minHashes, SOURCE_SEED, normalize(DownloadSources.host(report.getDownloadSource())))
+            + addWordPairs(minHashes, report.getDescription());
+        return shingles == 0 ? null : minHashes;
+    }
+
+    // Character trigrams tolerate misspellings such as "SBI Secure Updte" or "fake-bank-2.example"
+    private static int addTrigrams(long[] minHashes, long seed, String text) {
+        if (text.isEmpty()) {
+            return 0;
+        }
+        if (text.length() < 3) {
+            addShingle(minHashes, hash(seed, text, 0, text.length()));
+            return 1;
+        }
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            addShingle(minHashes, hash(seed, text, i, i + 3));
+        }
+        return text.length() - 2;
+    }
+
+    // Capped so that long narratives do not drown out the app name and host
+    private static int addWordPairs(long[] minHashes, String description) {
+        if (description == null) {
+            return 0;
+        }
+        long previous = 0;
+        int words = 0;
+        int shingles = 0;
+        for (String word : NON_ALPHANUMERIC.split(description.toLowerCase(Locale.ROOT))) {
+            if (word.length() < 3) {
+                continue;
+            }
+            long current = hash(DESCRIPTION_SEED, word, 0, word.length());
+            if (words++ > 0) {
+                addShingle(minHashes, mix(previous * 31 + current));
+                if (++shingles == MAX_DESCRIPTION_SHINGLES) {
+                    break;
+                }
+            }
+            previous = current;
+        }
+        if (words == 1) {
+            addShingle(minHashes, previous);
+            shingles = 1;
+        }
+        return shingles;
+    }
+
+    private static void addShingle(long[] minHashes, long shingle) {
+        for (int i = 0; i < NUM_HASHES; i++) {
+            long value = mix(shingle + (i + 1) * GOLDEN);
+            if (value < minHashes[i]) {
+                minHashes[i] = value;
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : NON_ALPHANUMERIC.matcher(text.toLowerCase(Locale.ROOT)).replaceAll("");
+    }
+
+    // FNV-1a over the characters, finished with mix()
+    private static long hash(long seed, String text, int start, int end) {
+        long h = 0xCBF29CE484222325L ^ seed;
+        for (int i = start; i < end; i++) {
+            h = (h ^ text.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE1A85EC5L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    public static class Campaign {
+        private final long id;
+        private final int size;
+
+        Campaign(long id, int size) {
+            this.id = id;
+            this.size = size;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public int getSize() {
+            return size;
+        }
+    }
+
+    public static class CampaignMembers {
+        private final Campaign campaign;
+        private final List<Long> reportIds;
+
+        CampaignMembers(Campaign campaign, List<Long> reportIds) {
+            this.campaign = campaign;
+            this.reportIds = reportIds;
+        }
+
+        public Campaign getCampaign() {
+            return campaign;
+        }
+
+        public List<Long> getReportIds() {
+            return reportIds;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.portal.service;
+
+import com.portal.event.ReportCreatedEvent;
+import com.portal.event.ReportStatusChangedEvent;
+import com.portal.event.ReportsStatusChangedEvent;
+import com.portal.model.Report;
+import com.portal.util.DownloadSources;
+import com.portal.util.LongIntHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Column-oriented copy of the report metadata for combined filters: one row per report in insertion order, with
+// id and report date (epoch millis) in long arrays and dictionary-encoded status, threat level and download host.
+// Status and threat level have a bitmap per value, so an equality filter is a BitSet AND; date and host are
+// checked on the surviving rows only. About 25 bytes and no objects per report.
+@Service
+public class ReportColumnStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportColumnStore.class);
+
+    private static final int MAX_BITMAP_VALUES = 32;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Value("${portal.columns.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongIntHashMap rowsByReportId = new LongIntHashMap(1024, -1);
+    // Statuses and threat levels are validated where they enter; the caps only stop a new path that skips validation
+    // from wrapping the byte codes or growing a row-sized bitmap per value
+    private final Dictionary statuses = new Dictionary(MAX_BITMAP_VALUES);
+    private final Dictionary threatLevels = new Dictionary(MAX_BITMAP_VALUES);
+    private final Dictionary sources = new Dictionary(Integer.MAX_VALUE);
+    // Bitmap per dictionary code: bit r is set when row r has that value
+    private final List<BitSet> statusRows = new ArrayList<>();
+    private final List<BitSet> threatLevelRows = new ArrayList<>();
+    private long[] reportIds = new long[1024];
+    private long[] reportDates = new long[1024];
+    private byte[] statusCodes = new byte[1024];
+    private byte[] threatLevelCodes = new byte[1024];
+    private int[] sourceCodes = new int[1024];
+    private int rowCount;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (rebuildOnStartup) {
+            long start = System.currentTimeMillis();
+            reportService.forEachReport(this::add);
+            log.info("Loaded {} reports into the column store in {} ms", getRowCount(), System.currentTimeMillis() - start);
+        }
+        ready = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportCreated(ReportCreatedEvent event) {
+        add(event.getReport());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportStatusChanged(ReportStatusChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            setStatus(event.getReport().getId(), event.getReport().getStatus());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportsStatusChanged(ReportsStatusChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (ReportsStatusChangedEvent.StatusChange change : event.getChanges()) {
+                setStatus(change.getReportId(), event.getStatus());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(Report report) {
+        if (report.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // Startup rebuild and live events can both deliver the same report
+            if (rowsByReportId.containsKey(report.getId())) {
+                return;
+            }
+            // Encoded first, so a rejected value leaves no half-written row
+            int statusCode;
+            int threatLevelCode;
+            try {
+                statusCode = statuses.encode(report.getStatus());
+                threatLevelCode = threatLevels.encode(report.getThreatLevel());
+            } catch (IllegalStateException e) {
+                log.error("Report {} left out of the column store: {}", report.getId(), e.getMessage());
+                return;
+            }
+            int row = rowCount++;
+            if (row == reportIds.length) {
+                grow(row * 2);
+            }
+            reportIds[row] = report.getId();
+            reportDates[row] = toMillis(report.getReportDate());
+            statusCodes[row] = (byte) statusCode;
+            threatLevelCodes[row] = (byte) threatLevelCode;
+            sourceCodes[row] = sources.encode(DownloadSources.host(report.getDownloadSource()));
+            bitmap(statusRows, statusCode).set(row);
+            bitmap(threatLevelRows, threatLevelCode).set(row);
+            rowsByReportId.put(report.getId(), row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Newest rows first. Null arguments match everything, the date range is [from, to) and downloadSource is
+    // compared by host. beforeRow is the nextRow of the previous page, or -1 for the first page.
+    public QueryResult query(String status, String threatLevel, String downloadSource,
+                             LocalDateTime from, LocalDateTime to, int beforeRow, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = null;
+            if (status != null) {
+                candidates = intersect(candidates, statusRows, statuses.code(status));
+            }
+            if (threatLevel != null) {
+                candidates = intersect(candidates, threatLevelRows, threatLevels.code(threatLevel));
+            }
+            int sourceCode = downloadSource == null ? -1 : sources.code(DownloadSources.host(downloadSource));
+            if (downloadSource != null && sourceCode < 0) {
+                candidates = new BitSet();
+            }
+            long fromMillis = from == null ? Long.MIN_VALUE : toMillis(from);
+            long toMillis = to == null ? Long.MAX_VALUE : toMillis(to);
+            boolean residual = sourceCode >= 0 || from != null || to != null;
+
+            int end = beforeRow < 0 ? rowCount : Math.min(beforeRow, rowCount);
+            long[] ids = new long[Math.min(limit, end)];
+            int found = 0;
+            int lastRow = -1;
+            long total = 0;
+            for (int row = previous(candidates, rowCount - 1); row >= 0; row = previous(candidates, row - 1)) {
+                if (residual && (reportDates[row] < fromMillis || reportDates[row] >= toMillis
+                        || (sourceCode >= 0 && sourceCodes[row] != sourceCode))) {
+                    continue;
+                }
+                total++;
+                if (row < end && found < ids.length) {
+                    ids[found++] = reportIds[row];
+                    lastRow = row;
+                } else if (found == ids.length && !residual) {
+                    // Only bitmap predicates: the remaining matches can be counted without visiting them
+                    total += candidates == null ? row : candidates.get(0, row).cardinality();
+                    break;
+                }
+            }
+            List<Long> page = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                page.add(ids[i]);
+            }
+            return new QueryResult(page, total, found == limit ? lastRow : -1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getRowCount() {
+        lock.readLock().lock();
+        try {
+            return rowCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Caller holds the write lock; reports not loaded yet pick up their current status when they are
+    private void setStatus(Long reportId, String status) {
+        int row = reportId == null ? -1 : rowsByReportId.get(reportId);
+        if (row < 0) {
+            return;
+        }
+        int statusCode = statuses.encode(status);
+        statusRows.get(statusCodes[row] & 0xFF).clear(row);
+        statusCodes[row] = (byte) statusCode;
+        bitmap(statusRows, statusCode).set(row);
+    }
+
+    private BitSet intersect(BitSet candidates, List<BitSet> bitmaps, int code) {
+        if (code < 0) {
+            return new BitSet();
+        }
+        if (candidates == null) {
+            return (BitSet) bitmaps.get(code).clone();
+        }
+        candidates.and(bitmaps.get(code));
+        return candidates;
+    }
+
+    private static int previous(BitSet candidates, int row) {
+        return candidates == null || row < 0 ? row : candidates.previousSetBit(row);
+    }
+
+    private static BitSet bitmap(List<BitSet> bitmaps, int code) {
+        while (bitmaps.size() <= code) {
+            bitmaps.add(new BitSet());
+        }
+        return bitmaps.get(code);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void grow(int capacity) {
+        reportIds = Arrays.copyOf(reportIds, capacity);
+        reportDates = Arrays.copyOf(reportDates, capacity);
+        statusCodes = Arrays.copyOf(statusCodes, capacity);
+        threatLevelCodes = Arrays.copyOf(threatLevelCodes, capacity);
+        sourceCodes = Arrays.copyOf(sourceCodes, capacity);
+    }
+
+    // Value <-> dense code; status and threat level columns hold codes as unsigned bytes
+    private static class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final int maxValues;
+
+        Dictionary(int maxValues) {
+            this.maxValues = maxValues;
+        }
+
+        int encode(String value) {
+            String key = value == null ? "" : value;
+            Integer code = codes.get(key);
+            if (code == null) {
+                if (values.size() == maxValues) {
+                    throw new IllegalStateException("More than " + maxValues + " distinct values; rejected \"" + key + "\"");
+                }
+                code = values.size();
+                codes.put(key, code);
+                values.add(key);
+            }
+            return code;
+        }
+
+        int code(String value) {
+            Integer code = codes.get(value == null ? "" : value);
+            return code == null ? -1 : code;
+        }
+    }
+
+    public static class QueryResult {
+        private final List<Long> reportIds;
+        private final long total;
+        private final int nextRow;
+
+        public QueryResult(List<Long> reportIds, long total, int nextRow) {
+            this.reportIds = reportIds;
+            this.total = total;
+            this.nextRow = nextRow;
+        }
+
+        public List<Long> getReportIds() {
+            return reportIds;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        // -1 when this was the last page
+        public int getNextRow() {
+            return nextRow;
+        }
+    }
+}
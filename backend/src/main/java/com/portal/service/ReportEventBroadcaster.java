@@ -0,0 +1,292 @@
+package com.portal.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portal.event.ReportCreatedEvent;
+import com.portal.event.ReportStatusChangedEvent;
+import com.portal.event.ReportsStatusChangedEvent;
+import com.portal.model.Report;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Pushes committed report events to police dashboards over server-sent events. Each event is serialized once
+// into a replay ring buffer and offered to every subscriber's bounded queue. Each subscriber's queue is drained
+// on its own sender thread, so a client that stops reading only stalls its own stream, and a send that takes
+// longer than send-timeout gets the subscriber dropped. A dropped or overflowing subscriber is disconnected and
+// catches up from the ring buffer when its browser reconnects with Last-Event-ID.
+@Service
+public class ReportEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportEventBroadcaster.class);
+
+    private static final Event HEARTBEAT = new Event(-1, null, null);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${portal.events.replay-buffer-size:1024}")
+    private int replayBufferSize;
+
+    @Value("${portal.events.subscriber-queue-size:256}")
+    private int subscriberQueueSize;
+
+    @Value("${portal.events.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${portal.events.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${portal.events.reconnect-delay-ms:3000}")
+    private long reconnectDelayMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder stalled = new LongAdder();
+    private ExecutorService senders;
+
+    // Replay ring buffer, guarded by this
+    private Event[] ring;
+    private long nextEventId = 1;
+
+    @PostConstruct
+    public void start() {
+        ring = new Event[replayBufferSize];
+        AtomicInteger threadNumber = new AtomicInteger();
+        // At most one drain per subscriber runs at a time; idle threads exit after a minute
+        senders = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "report-events-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdown();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportCreated(ReportCreatedEvent event) {
+        Report report = event.getReport();
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", report.getId());
+        data.put("suspiciousAppName", report.getSuspiciousAppName());
+        data.put("downloadSource", report.getDownloadSource());
+        data.put("threatLevel", report.getThreatLevel());
+        data.put("status", report.getStatus());
+        data.put("reportDate", report.getReportDate());
+        publish("report-created", data);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportStatusChanged(ReportStatusChangedEvent event) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", event.getReport().getId());
+        data.put("status", event.getReport().getStatus());
+        data.put("previousStatus", event.getPreviousStatus());
+        publish("report-status-changed", data);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportsStatusChanged(ReportsStatusChangedEvent event) {
+        List<Long> ids = new ArrayList<>(event.getChanges().size());
+        for (ReportsStatusChangedEvent.StatusChange change : event.getChanges()) {
+            ids.add(change.getReportId());
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("ids", ids);
+        data.put("status", event.getStatus());
+        data.put("previousStatusCounts", event.getCountsByPreviousStatus());
+        publish("reports-status-changed", data);
+    }
+
+    // lastEventId comes from the Last-Event-ID header the browser sends when reconnecting; null for a fresh stream
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, subscriberQueueSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        // Replaying and registering under the publish lock means no event falls between the two
+        synchronized (this) {
+            if (lastEventId != null) {
+                long oldest = Math.max(1, nextEventId - ring.length);
+                long missed = nextEventId - 1 - lastEventId;
+                // Missed events are gone from the buffer, too many to replay, or the id predates a restart:
+                // tell the client to reload its view
+                if (lastEventId + 1 < oldest || missed > subscriberQueueSize || missed < 0) {
+                    subscriber.queue.offer(new Event(nextEventId - 1, "reset", "{}"));
+                } else {
+                    for (long id = lastEventId + 1; id < nextEventId; id++) {
+                        subscriber.queue.offer(ring[(int) (id % ring.length)]);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    // Keeps idle connections open through proxies and detects clients that went away
+    @Scheduled(fixedDelayString = "${portal.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    // A client that stopped reading blocks its sender in a socket write until Tomcat's write timeout;
+    // drop it well before that so it stops collecting events
+    @Scheduled(fixedDelayString = "${portal.events.send-check-interval-ms:1000}")
+    public void dropStalledSubscribers() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            long sendingSince = subscriber.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > sendTimeoutMs) {
+                log.info("Dropping event subscriber whose send has been blocked for {} ms", now - sendingSince);
+                stalled.increment();
+                disconnect(subscriber);
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("subscribers", subscribers.size());
+        stats.put("published", published.sum());
+        stats.put("delivered", delivered.sum());
+        stats.put("overflowedSubscribers", overflowed.sum());
+        stats.put("stalledSubscribers", stalled.sum());
+        synchronized (this) {
+            stats.put("lastEventId", nextEventId - 1);
+        }
+        return stats;
+    }
+
+    private void publish(String name, Map<String, Object> data) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize {} event", name, e);
+            return;
+        }
+        synchronized (this) {
+            Event event = new Event(nextEventId, name, json);
+            ring[(int) (nextEventId % ring.length)] = event;
+            nextEventId++;
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.queue.offer(event)) {
+                    // Too slow to keep up; it resumes from the ring buffer after reconnecting
+                    overflowed.increment();
+                    disconnect(subscriber);
+                }
+            }
+        }
+        published.increment();
+        subscribers.forEach(this::schedule);
+    }
+
+    // Never completes the emitter on the calling thread: a sender blocked in send() holds the emitter's lock,
+    // and the publisher or scheduler would wait on it. The completion runs on its own sender thread instead.
+    private void disconnect(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.dropped = true;
+            subscriber.queue.clear();
+            senders.execute(subscriber.emitter::complete);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.dropped && !subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Event event;
+            while (!subscriber.dropped && (event = subscriber.queue.poll()) != null) {
+                subscriber.sendingSince = System.currentTimeMillis();
+                if (event == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("keepalive"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.id))
+                        .name(event.name)
+                        .reconnectTime(reconnectDelayMs)
+                        .data(event.json, MediaType.APPLICATION_JSON));
+                    delivered.increment();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected or the stream timed out
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.sendingSince = 0;
+            subscriber.draining.set(false);
+        }
+        // An event may have arrived after the last poll but before draining was cleared
+        schedule(subscriber);
+    }
+
+    private static class Event {
+        final long id;
+        final String name;
+        final String json;
+
+        Event(long id, String name, String json) {
+            this.id = id;
+            this.name = name;
+            this.json = json;
+        }
+    }
+
+    private static class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<Event> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        // Start of the send in progress, 0 while idle
+        volatile long sendingSince;
+        volatile boolean dropped;
+
+        Subscriber(SseEmitter emitter, int queueSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+    }
+}
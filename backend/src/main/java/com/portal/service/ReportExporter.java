@@ -0,0 +1,127 @@
+package com.portal.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portal.model.Report;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Writes the reports table row by row; nothing beyond the current fetch window is kept in memory
+@Service
+public class ReportExporter {
+
+    private static final int FLUSH_INTERVAL = 1000;
+    private static final String[] CSV_HEADER = {
+        "id", "suspiciousAppName", "victimName", "contactInfo", "downloadSource",
+        "threatLevel", "description", "evidenceFileName", "status", "reportDate", "tags"
+    };
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void writeNdjson(OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.setRootValueSeparator(null);
+            long[] written = {0};
+            export(report -> {
+                json.writeStartObject();
+                json.writeNumberField("id", report.getId());
+                json.writeStringField("suspiciousAppName", report.getSuspiciousAppName());
+                json.writeStringField("victimName", report.getVictimName());
+                json.writeStringField("contactInfo", report.getContactInfo());
+                json.writeStringField("downloadSource", report.getDownloadSource());
+                json.writeStringField("threatLevel", report.getThreatLevel());
+                json.writeStringField("description", report.getDescription());
+                json.writeStringField("evidenceFileName", report.getEvidenceFileName());
+                json.writeStringField("status", report.getStatus());
+                if (report.getReportDate() == null) {
+                    json.writeNullField("reportDate");
+                } else {
+                    json.writeStringField("reportDate", report.getReportDate().toString());
+                }
+                json.writeStringField("tags", report.getTags());
+                json.writeEndObject();
+                json.writeRaw('\n');
+                // Flush the first row immediately so the client sees bytes before the export finishes
+                if (written[0]++ % FLUSH_INTERVAL == 0) {
+                    json.flush();
+                }
+            });
+        }
+    }
+
+    public void writeCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", CSV_HEADER));
+        writer.write("\r\n");
+        writer.flush();
+        long[] written = {0};
+        export(report -> {
+            writer.write(String.valueOf(report.getId()));
+            writeCsvField(writer, report.getSuspiciousAppName());
+            writeCsvField(writer, report.getVictimName());
+            writeCsvField(writer, report.getContactInfo());
+            writeCsvField(writer, report.getDownloadSource());
+            writeCsvField(writer, report.getThreatLevel());
+            writeCsvField(writer, report.getDescription());
+            writeCsvField(writer, report.getEvidenceFileName());
+            writeCsvField(writer, report.getStatus());
+            writeCsvField(writer, report.getReportDate() == null ? null : report.getReportDate().toString());
+            writeCsvField(writer, report.getTags());
+            writer.write("\r\n");
+            if (++written[0] % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        });
+        writer.flush();
+    }
+
+    private void export(RowWriter rowWriter) throws IOException {
+        try {
+            reportService.forEachReportFromReplica(report -> {
+                try {
+                    rowWriter.write(report);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        // Citizens write most of these fields and analysts open the file in a spreadsheet, which would
+        // evaluate a leading =, +, -, @, tab or CR as a formula; the quote makes it plain text
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private interface RowWriter {
+        void write(Report report) throws IOException;
+    }
+}
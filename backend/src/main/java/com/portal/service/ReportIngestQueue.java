@@ -0,0 +1,356 @@
+package com.portal.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portal.dto.BatchItemResult;
+import com.portal.model.Report;
+import com.portal.model.User;
+import com.portal.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Optional write-behind path for citizen submissions: requests are acknowledged with a ticket once the
+// report is journaled and queued, and a single writer thread commits the queue to the database in batches.
+// Submissions are turned away until the application is ready and the previous run's journal has been replayed.
+@Service
+public class ReportIngestQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportIngestQueue.class);
+    private static final long RETRY_DELAY_MS = 1000;
+    private static final TypeReference<Map<String, Object>> JOURNAL_RECORD = new TypeReference<>() {};
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${portal.ingest.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${portal.ingest.async.capacity:10000}")
+    private int capacity;
+
+    @Value("${portal.ingest.async.batch-size:500}")
+    private int batchSize;
+
+    @Value("${portal.ingest.async.journal:data/ingest-journal.ndjson}")
+    private String journalPath;
+
+    @Value("${portal.ingest.async.fsync-on-accept:false}")
+    private boolean fsyncOnAccept;
+
+    private BlockingQueue<PendingReport> queue;
+    private FileChannel journal;
+    // A ReentrantLock rather than synchronized: journal writes block on disk, and a virtual thread blocking
+    // inside synchronized pins its carrier thread
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private long uncommitted; // guarded by journalLock
+    private Thread writer;
+    private volatile boolean running;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder failedCommits = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder commitNanos = new LongAdder();
+    private final AtomicLong lastCommitNanos = new AtomicLong();
+    private final AtomicLong maxCommitNanos = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    // Not @PostConstruct: the replayed reports publish ReportCreatedEvents, and the @TransactionalEventListener
+    // methods that index, count and broadcast them are only registered once the context has been refreshed
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path path = Paths.get(journalPath);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        recover(path);
+        journal = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        running = true;
+        writer = new Thread(this::drain, "report-ingest-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (!enabled || writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        journalLock.lock();
+        try {
+            journal.close();
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Returns the ticket id, or null when the queue is full and the caller should back off
+    public String submit(Report report) throws IOException {
+        PendingReport pending = new PendingReport(UUID.randomUUID().toString(), report);
+        journalLock.lock();
+        try {
+            if (!running || queue.remainingCapacity() == 0) {
+                rejected.increment();
+                return null;
+            }
+            append(acceptRecord(pending), fsyncOnAccept);
+            // Only submitters add to the queue and they do so under journalLock, so capacity cannot vanish here
+            queue.add(pending);
+            uncommitted++;
+        } finally {
+            journalLock.unlock();
+        }
+        accepted.increment();
+        return pending.ticket;
+    }
+
+    public Map<String, Object> getStats() {
+        long batchCount = batches.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("queueDepth", queue == null ? 0 : queue.size());
+        stats.put("capacity", capacity);
+        stats.put("accepted", accepted.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("committed", committed.sum());
+        stats.put("failedCommits", failedCommits.sum());
+        stats.put("batches", batchCount);
+        stats.put("lastCommitMillis", lastCommitNanos.get() / 1_000_000.0);
+        stats.put("maxCommitMillis", maxCommitNanos.get() / 1_000_000.0);
+        stats.put("avgCommitMillis", batchCount == 0 ? 0.0 : commitNanos.sum() / 1_000_000.0 / batchCount);
+        return stats;
+    }
+
+    private void drain() {
+        List<PendingReport> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingReport first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                commit(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void commit(List<PendingReport> batch) throws InterruptedException {
+        List<Report> reports = new ArrayList<>(batch.size());
+        for (PendingReport pending : batch) {
+            reports.add(pending.report);
+        }
+
+        while (true) {
+            long start = System.nanoTime();
+            try {
+                List<BatchItemResult> results = reportService.insertReports(reports);
+                recordCommit(System.nanoTime() - start, batch.size());
+                for (BatchItemResult result : results) {
+                    if (!result.isSuccess()) {
+                        log.warn("Dropped queued report {}: {}", batch.get(result.getIndex()).ticket, result.getErrors());
+                    }
+                }
+                markCommitted(batch);
+                return;
+            } catch (RuntimeException e) {
+                failedCommits.increment();
+                if (!running) {
+                    // Left in the journal; replayed on next start
+                    log.error("Giving up on {} queued reports during shutdown", batch.size(), e);
+                    return;
+                }
+                log.error("Failed to commit {} queued reports, retrying", batch.size(), e);
+                Thread.sleep(RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    private void recordCommit(long nanos, int size) {
+        committed.add(size);
+        batches.increment();
+        commitNanos.add(nanos);
+        lastCommitNanos.set(nanos);
+        maxCommitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void markCommitted(List<PendingReport> batch) {
+        List<String> tickets = new ArrayList<>(batch.size());
+        for (PendingReport pending : batch) {
+            tickets.add(pending.ticket);
+        }
+        journalLock.lock();
+        try {
+            uncommitted -= batch.size();
+            if (uncommitted == 0) {
+                // Everything journaled so far is in the database
+                journal.truncate(0);
+            } else {
+                append(Map.of("op", "commit", "tickets", tickets), false);
+            }
+        } catch (IOException e) {
+            // A stale journal only causes duplicates on replay, never lost reports
+            log.error("Failed to record commit of {} queued reports in the journal", batch.size(), e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    // Commits whatever a previous run accepted but never committed, then starts with an empty journal
+    private void recover(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        Map<String, Map<String, Object>> pending = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> record;
+                try {
+                    record = objectMapper.readValue(line, JOURNAL_RECORD);
+                } catch (IOException e) {
+                    // A torn last line from a crash mid-write
+                    log.warn("Skipping unreadable ingest journal entry");
+                    continue;
+                }
+                if ("accept".equals(record.get("op"))) {
+                    pending.put((String) record.get("ticket"), record);
+                } else if ("commit".equals(record.get("op"))) {
+                    for (Object ticket : (List<?>) record.get("tickets")) {
+                        pending.remove(ticket);
+                    }
+                }
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            log.info("Replaying {} uncommitted reports from {}", pending.size(), path);
+            List<Report> reports = new ArrayList<>(pending.size());
+            for (Map<String, Object> record : pending.values()) {
+                reports.add(fromRecord(record));
+            }
+            for (int from = 0; from < reports.size(); from += batchSize) {
+                reportService.insertReports(reports.subList(from, Math.min(from + batchSize, reports.size())));
+            }
+        }
+        Files.delete(path);
+    }
+
+    private void append(Map<String, Object> record, boolean force) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            journal.write(buffer);
+        }
+        if (force) {
+            journal.force(false);
+        }
+    }
+
+    private Map<String, Object> acceptRecord(PendingReport pending) {
+        Report report = pending.report;
+        Map<String, Object> record = new HashMap<>();
+        record.put("op", "accept");
+        record.put("ticket", pending.ticket);
+        record.put("citizenId", report.getCitizen() == null ? null : report.getCitizen().getId());
+        record.put("suspiciousAppName", report.getSuspiciousAppName());
+        record.put("victimName", report.getVictimName());
+        record.put("contactInfo", report.getContactInfo());
+        record.put("downloadSource", report.getDownloadSource());
+        record.put("threatLevel", report.getThreatLevel());
+        record.put("description", report.getDescription());
+        record.put("evidenceFileName", report.getEvidenceFileName());
+        record.put("reportDate", report.getReportDate().toString());
+        return record;
+    }
+
+    private Report fromRecord(Map<String, Object> record) {
+        User citizen = null;
+        if (record.get("citizenId") != null) {
+            citizen = userRepository.findById(((Number) record.get("citizenId")).longValue()).orElse(null);
+        }
+        Report report = new Report(
+            (String) record.get("suspiciousAppName"),
+            (String) record.get("victimName"),
+            (String) record.get("contactInfo"),
+            (String) record.get("downloadSource"),
+            (String) record.get("threatLevel"),
+            (String) record.get("description"),
+            (String) record.get("evidenceFileName"),
+            citizen
+        );
+        report.setReportDate(LocalDateTime.parse((String) record.get("reportDate")));
+        return report;
+    }
+
+    private static class PendingReport {
+        final String ticket;
+        final Report report;
+
+        PendingReport(String ticket, Report report) {
+            this.ticket = ticket;
+            this.report = report;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.portal.service;
+
+import com.portal.event.ReportCreatedEvent;
+import com.portal.event.ReportStatusChangedEvent;
+import com.portal.event.ReportsStatusChangedEvent;
+import com.portal.model.Report;
+import com.portal.util.DownloadSources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Hourly and daily report counts by threat level, download host and status, keyed by report date. Buckets are
+// updated from report events, so a time-series query costs one sorted-map range scan over the buckets in range
+// regardless of how many reports there are. Hourly buckets are dropped after hourly-retention (daily buckets keep
+// the same counts), and closed buckets keep only their top download hosts, folding the rest into "other".
+@Service
+public class ReportRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportRollupService.class);
+
+    public static final List<String> DIMENSIONS = List.of("threatLevel", "downloadSource", "status");
+    public static final List<String> INTERVALS = List.of("hour", "day");
+
+    private static final String UNKNOWN = "unknown";
+    private static final String OTHER = "other";
+
+    @Autowired
+    private ReportService reportService;
+
+    @Value("${portal.analytics.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Value("${portal.analytics.hourly-retention:7d}")
+    private Duration hourlyRetention;
+
+    @Value("${portal.analytics.max-sources-per-bucket:50}")
+    private int maxSourcesPerBucket;
+
+    private final ConcurrentSkipListMap<LocalDateTime, Bucket> hourly = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<LocalDateTime, Bucket> daily = new ConcurrentSkipListMap<>();
+    // Events that commit while the startup rebuild is streaming are held back and applied afterwards
+    private List<Runnable> pending = new ArrayList<>();
+    private long rebuiltUpToId;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (rebuildOnStartup) {
+            long start = System.currentTimeMillis();
+            long[] lastId = {0};
+            reportService.forEachReport(report -> {
+                add(report.getReportDate(), report.getThreatLevel(), report.getDownloadSource(), report.getStatus());
+                lastId[0] = report.getId();
+            });
+            rebuiltUpToId = lastId[0];
+            log.info("Rolled up reports into {} daily and {} hourly buckets in {} ms",
+                daily.size(), hourly.size(), System.currentTimeMillis() - start);
+        }
+        synchronized (this) {
+            // Reports are streamed in id order, so a held-back creation with a higher id was not seen yet.
+            // Status changes are applied as they are; one that committed mid-stream may be counted twice until restart.
+            pending.forEach(Runnable::run);
+            pending = null;
+            ready = true;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportCreated(ReportCreatedEvent event) {
+        Report report = event.getReport();
+        apply(() -> {
+            if (report.getId() == null || report.getId() > rebuiltUpToId) {
+                add(report.getReportDate(), report.getThreatLevel(), report.getDownloadSource(), report.getStatus());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportStatusChanged(ReportStatusChangedEvent event) {
+        Report report = event.getReport();
+        apply(() -> moveStatus(report.getReportDate(), event.getPreviousStatus(), report.getStatus()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportsStatusChanged(ReportsStatusChangedEvent event) {
+        apply(() -> {
+            for (ReportsStatusChangedEvent.StatusChange change : event.getChanges()) {
+                moveStatus(change.getReportDate(), change.getPreviousStatus(), event.getStatus());
+            }
+        });
+    }
+
+    // Drops hourly buckets past retention and folds the long tail of download hosts in closed buckets
+    @Scheduled(fixedDelayString = "${portal.analytics.compaction-interval-ms:3600000}")
+    public void compact() {
+        LocalDateTime now = LocalDateTime.now();
+        NavigableMap<LocalDateTime, Bucket> expired = hourly.headMap(hourlyCutoff(now), false);
+        int dropped = expired.size();
+        expired.clear();
+
+        int folded = 0;
+        for (Bucket bucket : hourly.headMap(now.truncatedTo(ChronoUnit.HOURS), false).values()) {
+            folded += bucket.foldSources(maxSourcesPerBucket);
+        }
+        for (Bucket bucket : daily.headMap(now.truncatedTo(ChronoUnit.DAYS), false).values()) {
+            folded += bucket.foldSources(maxSourcesPerBucket);
+        }
+        if (dropped > 0 || folded > 0) {
+            log.debug("Compacted rollups: dropped {} hourly buckets, folded {} download sources", dropped, folded);
+        }
+    }
+
+    // Non-empty buckets in [from, to), oldest first. Hourly data before getHourlyRetentionStart() has been dropped.
+    public List<Point> getTimeseries(String dimension, String interval, LocalDateTime from, LocalDateTime to) {
+        boolean hourInterval = "hour".equals(interval);
+        ConcurrentSkipListMap<LocalDateTime, Bucket> buckets = hourInterval ? hourly : daily;
+        LocalDateTime start = from.truncatedTo(hourInterval ? ChronoUnit.HOURS : ChronoUnit.DAYS);
+
+        List<Point> points = new ArrayList<>();
+        if (!start.isBefore(to)) {
+            return points;
+        }
+        for (Map.Entry<LocalDateTime, Bucket> entry : buckets.subMap(start, true, to, false).entrySet()) {
+            Bucket bucket = entry.getValue();
+            long total = bucket.total.sum();
+            if (total != 0) {
+                points.add(new Point(entry.getKey(), total, toCounts(bucket.get(dimension))));
+            }
+        }
+        return points;
+    }
+
+    public LocalDateTime getHourlyRetentionStart() {
+        return hourlyCutoff(LocalDateTime.now());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void apply(Runnable update) {
+        if (!ready) {
+            synchronized (this) {
+                if (!ready) {
+                    pending.add(update);
+                    return;
+                }
+            }
+        }
+        update.run();
+    }
+
+    private void add(LocalDateTime reportDate, String threatLevel, String downloadSource, String status) {
+        if (reportDate == null) {
+            return;
+        }
+        String host = DownloadSources.host(downloadSource);
+        daily.computeIfAbsent(reportDate.truncatedTo(ChronoUnit.DAYS), key -> new Bucket())
+            .add(threatLevel, host, status);
+        if (!reportDate.isBefore(hourlyCutoff(LocalDateTime.now()))) {
+            hourly.computeIfAbsent(reportDate.truncatedTo(ChronoUnit.HOURS), key -> new Bucket())
+                .add(threatLevel, host, status);
+        }
+    }
+
+    // Status counts are "reports from this period now in this status", so a transition moves one count within
+    // the buckets of the report's date; buckets that were dropped are not recreated
+    private void moveStatus(LocalDateTime reportDate, String previousStatus, String status) {
+        if (reportDate == null) {
+            return;
+        }
+        for (Bucket bucket : new Bucket[] {
+                daily.get(reportDate.truncatedTo(ChronoUnit.DAYS)),
+                hourly.get(reportDate.truncatedTo(ChronoUnit.HOURS)) }) {
+            if (bucket != null) {
+                increment(bucket.statuses, previousStatus, -1);
+                increment(bucket.statuses, status, 1);
+            }
+        }
+    }
+
+    private LocalDateTime hourlyCutoff(LocalDateTime now) {
+        return now.truncatedTo(ChronoUnit.HOURS).minus(hourlyRetention);
+    }
+
+    private static void increment(ConcurrentHashMap<String, LongAdder> counts, String key, long delta) {
+        counts.computeIfAbsent(key == null ? UNKNOWN : key, k -> new LongAdder()).add(delta);
+    }
+
+    private static Map<String, Long> toCounts(Map<String, LongAdder> counts) {
+        Map<String, Long> result = new HashMap<>();
+        counts.forEach((key, adder) -> {
+            long count = adder.sum();
+            if (count != 0) {
+                result.put(key, count);
+            }
+        });
+        return result;
+    }
+
+    private static class Bucket {
+        final LongAdder total = new LongAdder();
+        final ConcurrentHashMap<String, LongAdder> threatLevels = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, LongAdder> sources = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void add(String threatLevel, String source, String status) {
+            total.increment();
+            increment(threatLevels, threatLevel, 1);
+            increment(sources, source, 1);
+            increment(statuses, status, 1);
+        }
+
+        Map<String, LongAdder> get(String dimension) {
+            switch (dimension) {
+                case "threatLevel":
+                    return threatLevels;
+                case "downloadSource":
+                    return sources;
+                case "status":
+                    return statuses;
+                default:
+                    throw new IllegalArgumentException("Unknown dimension: " + dimension);
+            }
+        }
+
+        // Keeps the top maxSources hosts (plus "other"); returns how many hosts were folded
+        int foldSources(int maxSources) {
+            if (sources.size() <= maxSources + 1) {
+                return 0;
+            }
+            List<Map.Entry<String, LongAdder>> entries = new ArrayList<>(sources.entrySet());
+            entries.removeIf(entry -> entry.getKey().equals(OTHER));
+            entries.sort((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()));
+            long foldedCount = 0;
+            int folded = 0;
+            for (Map.Entry<String, LongAdder> entry : entries.subList(maxSources, entries.size())) {
+                LongAdder removed = sources.remove(entry.getKey());
+                if (removed != null) {
+                    foldedCount += removed.sum();
+                    folded++;
+                }
+            }
+            increment(sources, OTHER, foldedCount);
+            return folded;
+        }
+    }
+
+    public static class Point {
+        private final LocalDateTime start;
+        private final long total;
+        private final Map<String, Long> counts;
+
+        public Point(LocalDateTime start, long total, Map<String, Long> counts) {
+            this.start = start;
+            this.total = total;
+            this.counts = counts;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public Map<String, Long> getCounts() {
+            return counts;
+        }
+    }
+}
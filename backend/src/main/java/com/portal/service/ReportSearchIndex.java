@@ -0,0 +1,300 @@
+package com.portal.service;
+
+import com.portal.event.ReportCreatedEvent;
+import com.portal.model.Report;
+import com.portal.util.LongIntHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over app name, download source and description, ranked with BM25.
+// Reports are numbered densely in insertion order so posting lists are sorted primitive int arrays.
+@Service
+public class ReportSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportSearchIndex.class);
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    // Keeps package names, URLs, e-mail addresses and phone numbers together as single tokens ...
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}._:/@+\\-]+");
+    // ... and additionally indexes their parts, so "com.fake.bank" is also found by "fake"
+    private static final Pattern PART_SEPARATORS = Pattern.compile("[._:/@+\\-]+");
+
+    @Autowired
+    private ReportService reportService;
+
+    @Value("${portal.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final LongIntHashMap docsByReportId = new LongIntHashMap(1024, -1);
+    private long[] reportIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private int docCount;
+    private long totalLength;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (rebuildOnStartup) {
+            long start = System.currentTimeMillis();
+            reportService.forEachReport(this::index);
+            log.info("Indexed {} reports for search in {} ms", getDocumentCount(), System.currentTimeMillis() - start);
+        }
+        ready = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportCreated(ReportCreatedEvent event) {
+        index(event.getReport());
+    }
+
+    public void index(Report report) {
+        if (report.getId() == null) {
+            return;
+        }
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = tokenize(report.getSuspiciousAppName(), termFrequencies)
+            + tokenize(report.getDownloadSource(), termFrequencies)
+            + tokenize(report.getDescription(), termFrequencies);
+
+        lock.writeLock().lock();
+        try {
+            // Startup rebuild and live events can both deliver the same report
+            if (docsByReportId.containsKey(report.getId())) {
+                return;
+            }
+            int doc = docCount++;
+            if (doc == reportIds.length) {
+                reportIds = Arrays.copyOf(reportIds, doc * 2);
+                docLengths = Arrays.copyOf(docLengths, doc * 2);
+            }
+            reportIds[doc] = report.getId();
+            docLengths[doc] = length;
+            totalLength += length;
+            docsByReportId.put(report.getId(), doc);
+            termFrequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new PostingList()).add(doc, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchResults search(String query, int limit) {
+        Map<String, Integer> queryTerms = new HashMap<>();
+        tokenize(query, queryTerms);
+        Set<String> terms = queryTerms.keySet();
+
+        lock.readLock().lock();
+        try {
+            if (docCount == 0 || terms.isEmpty()) {
+                return new SearchResults(0, List.of());
+            }
+            float averageLength = Math.max(1f, (float) totalLength / docCount);
+            ScoreAccumulator scores = new ScoreAccumulator();
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    int tf = list.frequencies[i];
+                    float norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                    scores.add(doc, (float) (idf * tf * (K1 + 1) / (tf + norm)));
+                }
+            }
+
+            // Min-heap of accumulator slots holding the best `limit` documents seen so far
+            float[] values = scores.values;
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, (a, b) -> Float.compare(values[a], values[b]));
+            for (int slot = 0; slot < scores.docs.length; slot++) {
+                if (scores.docs[slot] >= 0) {
+                    top.add(slot);
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+            List<SearchHit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int slot = top.poll();
+                hits.add(0, new SearchHit(reportIds[scores.docs[slot]], values[slot]));
+            }
+            return new SearchResults(scores.size, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private static int tokenize(String text, Map<String, Integer> termFrequencies) {
+        if (text == null) {
+            return 0;
+        }
+        int length = 0;
+        for (String raw : TOKEN_SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            String token = trimPunctuation(raw);
+            if (token.length() < MIN_TOKEN_LENGTH) {
+                continue;
+            }
+            termFrequencies.merge(token, 1, Integer::sum);
+            length++;
+            if (PART_SEPARATORS.matcher(token).find()) {
+                for (String part : PART_SEPARATORS.split(token)) {
+                    if (part.length() >= MIN_TOKEN_LENGTH && !part.equals(token)) {
+                        termFrequencies.merge(part, 1, Integer::sum);
+                    }
+                }
+                // Phone numbers are searchable without their separators
+                String digits = token.replaceAll("[^0-9]", "");
+                if (digits.length() >= 6 && digits.length() * 2 > token.length()) {
+                    termFrequencies.merge(digits, 1, Integer::sum);
+                }
+            }
+        }
+        return length;
+    }
+
+    private static String trimPunctuation(String token) {
+        int start = 0;
+        int end = token.length();
+        while (start < end && ".:/-_@".indexOf(token.charAt(start)) >= 0) {
+            start++;
+        }
+        while (end > start && ".:/-_@".indexOf(token.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return token.substring(start, end);
+    }
+
+    private static class PostingList {
+        int[] docs = new int[4];
+        short[] frequencies = new short[4];
+        int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = (short) Math.min(frequency, Short.MAX_VALUE);
+            size++;
+        }
+    }
+
+    // Open-addressing doc -> score accumulator; empty slots hold -1
+    private static class ScoreAccumulator {
+        int[] docs = new int[64];
+        float[] values = new float[64];
+        int size;
+
+        ScoreAccumulator() {
+            Arrays.fill(docs, -1);
+        }
+
+        void add(int doc, float score) {
+            if ((size + 1) * 2 > docs.length) {
+                grow();
+            }
+            int mask = docs.length - 1;
+            int slot = (doc * 0x9E3779B9) & mask;
+            while (docs[slot] >= 0 && docs[slot] != doc) {
+                slot = (slot + 1) & mask;
+            }
+            if (docs[slot] < 0) {
+                docs[slot] = doc;
+                size++;
+            }
+            values[slot] += score;
+        }
+
+        private void grow() {
+            int[] oldDocs = docs;
+            float[] oldValues = values;
+            docs = new int[oldDocs.length * 2];
+            values = new float[oldDocs.length * 2];
+            Arrays.fill(docs, -1);
+            int mask = docs.length - 1;
+            for (int i = 0; i < oldDocs.length; i++) {
+                if (oldDocs[i] >= 0) {
+                    int slot = (oldDocs[i] * 0x9E3779B9) & mask;
+                    while (docs[slot] >= 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    docs[slot] = oldDocs[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+
+    public static class SearchHit {
+        private final long reportId;
+        private final float score;
+
+        SearchHit(long reportId, float score) {
+            this.reportId = reportId;
+            this.score = score;
+        }
+
+        public long getReportId() {
+            return reportId;
+        }
+
+        public float getScore() {
+            return score;
+        }
+    }
+
+    public static class SearchResults {
+        private final int totalMatches;
+        private final List<SearchHit> hits;
+
+        SearchResults(int totalMatches, List<SearchHit> hits) {
+            this.totalMatches = totalMatches;
+            this.hits = hits;
+        }
+
+        public int getTotalMatches() {
+            return totalMatches;
+        }
+
+        public List<SearchHit> getHits() {
+            return hits;
+        }
+    }
+}
@@ -1,62 +1,371 @@
 package com.portal.service;
 
+import com.portal.dto.BatchItemResult;
+import com.portal.dto.ReportCursor;
+import com.portal.dto.ReportFilter;
+import com.portal.dto.ReportSubmission;
+import com.portal.dto.ReportSummary;
+import com.portal.event.ReportCreatedEvent;
+import com.portal.event.ReportStatusChangedEvent;
+import com.portal.event.ReportsStatusChangedEvent;
 import com.portal.model.Report;
 import com.portal.model.User;
 import com.portal.repository.ReportRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "portal.report.service", histogram = true)
 public class ReportService {
     
     @Autowired
     private ReportRepository reportRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private IndicatorMatcher indicatorMatcher;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    // Lazy: the queue commits through this service
+    @Autowired
+    @Lazy
+    private ReportIngestQueue reportIngestQueue;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int insertBatchSize;
+
+    @Value("${portal.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+
     public Report saveReport(Report report) {
-        return reportRepository.save(report);
+        boolean created = report.getId() == null;
+        if (created) {
+            indicatorMatcher.apply(report);
+        }
+        linkEvidence(report);
+        Report saved = reportRepository.save(report);
+        if (created) {
+            eventPublisher.publishEvent(new ReportCreatedEvent(saved));
+        } else {
+            reportCache.evict(saved);
+            responseCache.invalidate();
+        }
+        return saved;
     }
 
+    // Read-only transactions may be served by a read replica a few seconds behind the primary (see
+    // ReplicaRoutingDataSource). Reads that fill a cache invalidated on the primary's commit, rebuild an in-memory
+    // index, or must see a write just made stay on the primary, so they run without readOnly.
     public List<Report> getAllReports() {
         return reportRepository.findAllOrderByReportDateDesc();
     }
 
-    public List<Report> getReportsByUser(String username) {
-        return reportRepository.findAllByCitizenUsername(username);
+    // Visits every report in id order without holding more than one fetch window in the persistence context.
+    // On the primary: the indexes rebuilt from it only learn about later changes from events.
+    @Transactional
+    public void forEachReport(Consumer<Report> action) {
+        visitReports(action);
+    }
+
+    // The same walk for one-off reads such as exports, which a read replica may serve
+    @Transactional(readOnly = true)
+    public void forEachReportFromReplica(Consumer<Report> action) {
+        visitReports(action);
+    }
+
+    private void visitReports(Consumer<Report> action) {
+        try (Stream<Report> reports = reportRepository.streamAllOrderById()) {
+            Iterator<Report> iterator = reports.iterator();
+            long visited = 0;
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++visited % ReportRepository.STREAM_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReportSummary> getReportSummaries(ReportCursor after, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        if (after == null) {
+            return reportRepository.findSummaryPage(page);
+        }
+        return reportRepository.findSummaryPageAfter(after.getReportDate(), after.getId(), page);
+    }
+
+    public List<ReportSummary> getReportSummariesByCitizen(Long citizenId, ReportCursor after, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        if (after == null) {
+            return reportRepository.findSummaryPageByCitizen(citizenId, page);
+        }
+        return reportRepository.findSummaryPageByCitizenAfter(citizenId, after.getReportDate(), after.getId(), page);
     }
 
     public List<Report> getReportsByStatus(String status) {
-        return reportRepository.findByStatus(status);
+        return reportCache.findByStatus(status);
     }
 
     public List<Report> getReportsByThreatLevel(String threatLevel) {
-        return reportRepository.findByThreatLevel(threatLevel);
+        return reportCache.findByThreatLevel(threatLevel);
     }
 
     public Optional<Report> getReportById(Long id) {
-        return reportRepository.findById(id);
+        return reportCache.findById(id);
     }
 
     public Report updateReportStatus(Long id, String status) {
         Optional<Report> reportOpt = reportRepository.findById(id);
         if (reportOpt.isPresent()) {
             Report report = reportOpt.get();
+            String previousStatus = report.getStatus();
             report.setStatus(status);
-            return reportRepository.save(report);
+            Report saved = reportRepository.save(report);
+            if (!Objects.equals(previousStatus, status)) {
+                eventPublisher.publishEvent(new ReportStatusChangedEvent(saved, previousStatus));
+            }
+            return saved;
         }
         return null;
     }
 
+    // Set-based bulk transition: per chunk of bulkChunkSize reports, one SELECT of (id, status, reportDate) and one UPDATE per
+    // distinct previous status, each chunk in its own transaction. Returns the number changed per previous status;
+    // ids that do not exist or already have the status are left alone.
+    public Map<String, Long> updateReportStatuses(List<Long> ids, String status) {
+        Map<String, Long> changed = new HashMap<>();
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        for (int start = 0; start < distinct.size(); start += bulkChunkSize) {
+            List<Long> chunk = distinct.subList(start, Math.min(start + bulkChunkSize, distinct.size()));
+            transactionTemplate.executeWithoutResult(tx ->
+                applyStatus(reportRepository.findStatusesToChange(chunk, status), status, changed));
+        }
+        return changed;
+    }
+
+    public Map<String, Long> updateReportStatuses(ReportFilter filter, String status) {
+        Map<String, Long> changed = new HashMap<>();
+        long[] afterId = {0L};
+        boolean more = true;
+        while (more) {
+            more = Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+                List<Object[]> rows = reportRepository.findStatusesToChangeMatching(afterId[0], status,
+                    filter.getStatus(), filter.getThreatLevel(), filter.getFrom(), filter.getTo(),
+                    PageRequest.of(0, bulkChunkSize));
+                if (rows.isEmpty()) {
+                    return false;
+                }
+                afterId[0] = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+                applyStatus(rows, status, changed);
+                return rows.size() == bulkChunkSize;
+            }));
+        }
+        return changed;
+    }
+
+    // Caller must hold a transaction; rows are (id, current status, reportDate)
+    private void applyStatus(List<Object[]> rows, String status, Map<String, Long> changed) {
+        Map<String, List<Object[]>> rowsByPreviousStatus = new HashMap<>();
+        for (Object[] row : rows) {
+            rowsByPreviousStatus.computeIfAbsent((String) row[1], s -> new ArrayList<>()).add(row);
+        }
+        List<ReportsStatusChangedEvent.StatusChange> changes = new ArrayList<>(rows.size());
+        rowsByPreviousStatus.forEach((previousStatus, group) -> {
+            List<Long> reportIds = new ArrayList<>(group.size());
+            for (Object[] row : group) {
+                reportIds.add(((Number) row[0]).longValue());
+            }
+            // The rows are locked by the SELECT, so the status guard normally matches all of them. On a database that
+            // ignores the lock, publish exactly the rows this UPDATE moved so every listener stays consistent.
+            int updated = reportRepository.updateStatus(reportIds, previousStatus, status);
+            changed.merge(previousStatus, (long) updated, Long::sum);
+            Set<Long> moved = updated == reportIds.size()
+                ? null : new HashSet<>(reportRepository.findIdsWithStatus(reportIds, status));
+            for (Object[] row : group) {
+                long reportId = ((Number) row[0]).longValue();
+                if (moved == null || moved.contains(reportId)) {
+                    changes.add(new ReportsStatusChangedEvent.StatusChange(reportId, previousStatus, (LocalDateTime) row[2]));
+                }
+            }
+        });
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new ReportsStatusChangedEvent(status, changes));
+        }
+    }
+
+    // Summaries in the order of the given ids; ids that no longer exist are skipped
+    public List<ReportSummary> getReportSummariesByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ReportSummary> byId = new HashMap<>();
+        for (ReportSummary summary : reportRepository.findSummariesByIdIn(ids)) {
+            byId.put(summary.getId(), summary);
+        }
+        List<ReportSummary> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ReportSummary summary = byId.get(id);
+            if (summary != null) {
+                ordered.add(summary);
+            }
+        }
+        return ordered;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReportSummary> getReportsByEvidence(String sha256) {
+        return reportRepository.findSummariesByEvidenceSha256(sha256);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Long> getSharedEvidenceCounts(int limit) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : reportRepository.countSharedEvidence(PageRequest.of(0, limit))) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    @Transactional(readOnly = true)
     public long getReportCountByStatus(String status) {
         return reportRepository.countByStatus(status);
     }
 
-    public Report createReport(String suspiciousAppName, String victimName, String contactInfo,
-                              String downloadSource, String threatLevel, String description,
-                              String evidenceFileName, User citizen) {
+    // Saves the report, or in write-behind mode (portal.ingest.async.enabled) journals and queues it for
+    // ReportIngestQueue to commit in batches, answering with a ticket
+    public ReportSubmission createReport(String suspiciousAppName, String victimName, String contactInfo,
+                                         String downloadSource, String threatLevel, String description,
+                                         String evidenceFileName, User citizen) throws IOException {
         Report report = new Report(suspiciousAppName, victimName, contactInfo, downloadSource,
                                  threatLevel, description, evidenceFileName, citizen);
-        return saveReport(report);
+        Map<String, String> errors = validateReport(report);
+        if (!errors.isEmpty()) {
+            return ReportSubmission.invalid(errors);
+        }
+        if (reportIngestQueue.isEnabled()) {
+            String ticketId = reportIngestQueue.submit(report);
+            return ticketId == null ? ReportSubmission.queueFull() : ReportSubmission.queued(ticketId);
+        }
+        return ReportSubmission.saved(saveReport(report));
+    }
+
+    public Map<String, String> validateReport(Report report) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<Report> violation : validator.validate(report)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    // Validates each report independently. The valid ones are queued in write-behind mode, otherwise inserted as by
+    // insertReports; a report the full queue turns away is rejected with a "queue" error.
+    public List<BatchItemResult> createReports(List<Report> reports) throws IOException {
+        if (!reportIngestQueue.isEnabled()) {
+            return insertReports(reports);
+        }
+        List<BatchItemResult> results = new ArrayList<>(reports.size());
+        for (int i = 0; i < reports.size(); i++) {
+            Map<String, String> errors = validateReport(reports.get(i));
+            String ticketId = errors.isEmpty() ? reportIngestQueue.submit(reports.get(i)) : null;
+            if (ticketId != null) {
+                results.add(BatchItemResult.queued(i, ticketId));
+            } else {
+                results.add(BatchItemResult.rejected(i, errors.isEmpty()
+                    ? Map.of("queue", "Too many pending submissions, please retry shortly") : errors));
+            }
+        }
+        return results;
+    }
+
+    // Validates each report independently and inserts the valid ones in JDBC batches within one transaction.
+    // Never queues: this is also how ReportIngestQueue commits.
+    public List<BatchItemResult> insertReports(List<Report> reports) {
+        BatchItemResult[] results = new BatchItemResult[reports.size()];
+        List<Report> valid = new ArrayList<>(reports.size());
+        List<Integer> validIndexes = new ArrayList<>(reports.size());
+        for (int i = 0; i < reports.size(); i++) {
+            Map<String, String> errors = validateReport(reports.get(i));
+            if (errors.isEmpty()) {
+                valid.add(reports.get(i));
+                validIndexes.add(i);
+            } else {
+                results[i] = BatchItemResult.rejected(i, errors);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> saveReports(valid));
+            for (int i = 0; i < valid.size(); i++) {
+                results[validIndexes.get(i)] = BatchItemResult.accepted(validIndexes.get(i), valid.get(i).getId());
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    // Caller must hold a transaction; flushing every insertBatchSize rows keeps each flush a single JDBC batch
+    private void saveReports(List<Report> reports) {
+        for (int i = 0; i < reports.size(); i++) {
+            Report report = reports.get(i);
+            indicatorMatcher.apply(report);
+            linkEvidence(report);
+            entityManager.persist(report);
+            eventPublisher.publishEvent(new ReportCreatedEvent(report));
+            if ((i + 1) % insertBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+    }
+
+    // Evidence uploaded through the content-addressed store is referenced by its digest
+    private void linkEvidence(Report report) {
+        if (report.getEvidenceSha256() == null && EvidenceStorageService.isContentAddress(report.getEvidenceFileName())) {
+            report.setEvidenceSha256(report.getEvidenceFileName());
+        }
     }
-}
\ No newline at end of file
+}
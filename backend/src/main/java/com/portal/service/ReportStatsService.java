@@ -0,0 +1,123 @@
+package com.portal.service;
+
+import com.portal.event.ReportCreatedEvent;
+import com.portal.event.ReportStatusChangedEvent;
+import com.portal.event.ReportsStatusChangedEvent;
+import com.portal.repository.ReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Dashboard counters maintained from report events, so /api/police/stats never touches the database
+@Service
+public class ReportStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportStatsService.class);
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    private volatile Counters counters = new Counters();
+
+    // Ordered before ResponseCache, which bumps its version once the counters are current
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportCreated(ReportCreatedEvent event) {
+        Counters current = counters;
+        current.total.increment();
+        current.increment(current.byStatus, event.getReport().getStatus(), 1);
+        current.increment(current.byThreatLevel, event.getReport().getThreatLevel(), 1);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportStatusChanged(ReportStatusChangedEvent event) {
+        Counters current = counters;
+        current.increment(current.byStatus, event.getPreviousStatus(), -1);
+        current.increment(current.byStatus, event.getReport().getStatus(), 1);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportsStatusChanged(ReportsStatusChangedEvent event) {
+        Counters current = counters;
+        event.getCountsByPreviousStatus().forEach((previousStatus, count) -> {
+            current.increment(current.byStatus, previousStatus, -count);
+            current.increment(current.byStatus, event.getStatus(), count);
+        });
+    }
+
+    // Replaces the counters with a fresh snapshot from the database. Updates racing with the swap
+    // can be lost, which only leaves the counters off until the next run. Reads the primary: a lagging
+    // replica would drop the last few seconds of reports from the snapshot.
+    @Scheduled(fixedDelayString = "${portal.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Counters fresh = new Counters();
+        fresh.total.add(reportRepository.count());
+        load(fresh, fresh.byStatus, reportRepository.countGroupByStatus());
+        load(fresh, fresh.byThreatLevel, reportRepository.countGroupByThreatLevel());
+
+        Counters previous = counters;
+        counters = fresh;
+        // Cached stats responses were built from the old counters
+        responseCache.invalidate();
+        if (previous.total.sum() != fresh.total.sum()) {
+            log.debug("Reconciled report stats: total drifted from {} to {}", previous.total.sum(), fresh.total.sum());
+        }
+    }
+
+    public long getTotal() {
+        return counters.total.sum();
+    }
+
+    public long getCountByStatus(String status) {
+        LongAdder adder = counters.byStatus.get(status);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public Map<String, Long> getCountsByStatus() {
+        return toMap(counters.byStatus);
+    }
+
+    public Map<String, Long> getCountsByThreatLevel() {
+        return toMap(counters.byThreatLevel);
+    }
+
+    private void load(Counters target, Map<String, LongAdder> counts, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            target.increment(counts, (String) row[0], ((Number) row[1]).longValue());
+        }
+    }
+
+    private Map<String, Long> toMap(Map<String, LongAdder> counts) {
+        Map<String, Long> result = new HashMap<>();
+        counts.forEach((key, adder) -> result.put(key, adder.sum()));
+        return result;
+    }
+
+    private static class Counters {
+        private static final String UNKNOWN = "unknown";
+
+        final LongAdder total = new LongAdder();
+        final Map<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> byThreatLevel = new ConcurrentHashMap<>();
+
+        void increment(Map<String, LongAdder> counts, String key, long delta) {
+            counts.computeIfAbsent(key == null ? UNKNOWN : key, k -> new LongAdder()).add(delta);
+        }
+    }
+}
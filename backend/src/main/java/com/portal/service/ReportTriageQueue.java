@@ -0,0 +1,346 @@
+package com.portal.service;
+
+import com.portal.dto.ReportSummary;
+import com.portal.event.ReportCreatedEvent;
+import com.portal.event.ReportStatusChangedEvent;
+import com.portal.event.ReportsStatusChangedEvent;
+import com.portal.model.Report;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Pending reports ordered by triage score, handed out to officers one at a time under a lease.
+//   score = threat rank * threat weight + log2(campaign size) * duplicate weight + age in hours * age weight
+// Age grows at the same rate for every report, so ordering by the score minus the current time term never changes
+// and each report sits in the skip list under one fixed key until its threat level or campaign size changes.
+// Claiming removes the head entry and sets the lease with a compare-and-set, so no two officers get the same report.
+@Service
+public class ReportTriageQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportTriageQueue.class);
+
+    private static final String PENDING = "pending";
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportCampaignClusterer campaignClusterer;
+
+    @Value("${portal.triage.threat-weight:10}")
+    private double threatWeight;
+
+    @Value("${portal.triage.duplicate-weight:5}")
+    private double duplicateWeight;
+
+    @Value("${portal.triage.age-weight-per-hour:0.25}")
+    private double ageWeightPerHour;
+
+    @Value("${portal.triage.lease-timeout:15m}")
+    private Duration leaseTimeout;
+
+    @Value("${portal.triage.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private final ConcurrentSkipListSet<Entry> queue = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<Long, Item> items = new ConcurrentHashMap<>();
+    // Campaign id -> log2 level its members were last scored with
+    private final ConcurrentHashMap<Long, Integer> campaignLevels = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (rebuildOnStartup) {
+            long start = System.currentTimeMillis();
+            reportService.forEachReport(report -> {
+                if (PENDING.equals(report.getStatus())) {
+                    add(report.getId(), report.getThreatLevel(), report.getReportDate());
+                }
+            });
+            log.info("Queued {} pending reports for triage in {} ms", items.size(), System.currentTimeMillis() - start);
+        }
+        ready = true;
+    }
+
+    // Runs after ReportCampaignClusterer has assigned the report (see its @Order)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportCreated(ReportCreatedEvent event) {
+        Report report = event.getReport();
+        if (PENDING.equals(report.getStatus())) {
+            add(report.getId(), report.getThreatLevel(), report.getReportDate());
+            rescoreCampaign(report.getId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportStatusChanged(ReportStatusChangedEvent event) {
+        Report report = event.getReport();
+        if (PENDING.equals(report.getStatus())) {
+            add(report.getId(), report.getThreatLevel(), report.getReportDate());
+        } else {
+            remove(report.getId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportsStatusChanged(ReportsStatusChangedEvent event) {
+        List<Long> reopened = new ArrayList<>();
+        for (ReportsStatusChangedEvent.StatusChange change : event.getChanges()) {
+            if (PENDING.equals(event.getStatus())) {
+                reopened.add(change.getReportId());
+            } else {
+                remove(change.getReportId());
+            }
+        }
+        // The bulk event carries no threat levels; reopening many reports at once is rare
+        for (ReportSummary summary : reportService.getReportSummariesByIds(reopened)) {
+            add(summary.getId(), summary.getThreatLevel(), summary.getReportDate());
+        }
+    }
+
+    // The highest-scoring unleased report, now leased to the officer; null when nothing is waiting
+    public Lease claim(String officer) {
+        Entry entry;
+        while ((entry = queue.pollFirst()) != null) {
+            Item item = items.get(entry.reportId);
+            // Reports that stopped being pending leave their entry behind
+            if (item == null) {
+                continue;
+            }
+            // An entry superseded by a concurrent rescore still stands for its report, which is not in the queue twice
+            Lease lease = new Lease(item.reportId, officer, Instant.now().plus(leaseTimeout), score(item.entry));
+            if (item.lease.compareAndSet(null, lease)) {
+                return lease;
+            }
+        }
+        return null;
+    }
+
+    // Extends the officer's lease; null if the officer does not hold it any more
+    public Lease renew(long reportId, String officer) {
+        Item item = items.get(reportId);
+        if (item == null) {
+            return null;
+        }
+        Lease current = item.lease.get();
+        if (current == null || !current.officer.equals(officer)) {
+            return null;
+        }
+        Lease renewed = new Lease(reportId, officer, Instant.now().plus(leaseTimeout), current.score);
+        return item.lease.compareAndSet(current, renewed) ? renewed : null;
+    }
+
+    // Puts a leased report back in the queue; false if the officer does not hold the lease
+    public boolean release(long reportId, String officer) {
+        Item item = items.get(reportId);
+        if (item == null) {
+            return false;
+        }
+        Lease current = item.lease.get();
+        if (current == null || !current.officer.equals(officer) || !item.lease.compareAndSet(current, null)) {
+            return false;
+        }
+        queue.add(item.entry);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${portal.triage.lease-sweep-interval-ms:10000}")
+    public void expireLeases() {
+        Instant now = Instant.now();
+        int expired = 0;
+        for (Item item : items.values()) {
+            Lease lease = item.lease.get();
+            if (lease != null && lease.expiresAt.isBefore(now) && item.lease.compareAndSet(lease, null)) {
+                queue.add(item.entry);
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            log.debug("Returned {} reports with expired triage leases to the queue", expired);
+        }
+    }
+
+    // The next reports an officer would get, best first, without claiming them
+    public List<Map<String, Object>> peek(int limit) {
+        List<Map<String, Object>> next = new ArrayList<>(limit);
+        for (Entry entry : queue) {
+            if (next.size() == limit) {
+                break;
+            }
+            Item item = items.get(entry.reportId);
+            if (item != null && item.entry == entry && item.lease.get() == null) {
+                next.add(Map.of("reportId", entry.reportId, "score", score(entry)));
+            }
+        }
+        return next;
+    }
+
+    public int getPendingCount() {
+        return items.size();
+    }
+
+    public long getLeasedCount() {
+        return items.values().stream().filter(item -> item.lease.get() != null).count();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void add(Long reportId, String threatLevel, LocalDateTime reportDate) {
+        if (reportId == null) {
+            return;
+        }
+        Item item = new Item(reportId, threatLevel, reportDate);
+        item.entry = new Entry(key(item, campaignLevel(reportId)), reportId);
+        Item previous = items.putIfAbsent(reportId, item);
+        if (previous != null) {
+            // Already queued (startup rebuild and live events can both deliver a report); pick up a new threat level
+            rescore(previous, threatLevel);
+            return;
+        }
+        queue.add(item.entry);
+    }
+
+    private void remove(Long reportId) {
+        Item item = items.remove(reportId);
+        if (item != null) {
+            queue.remove(item.entry);
+        }
+    }
+
+    // The duplicate term changes only when a campaign's size crosses a power of two, so members are rescored
+    // at most log2(size) times over the campaign's life
+    private void rescoreCampaign(long reportId) {
+        long campaignId = campaignClusterer.getCampaignId(reportId);
+        int level = campaignLevel(reportId);
+        if (campaignId < 0 || level == 0) {
+            return;
+        }
+        Integer scored = campaignLevels.put(campaignId, level);
+        if (scored != null && scored == level) {
+            return;
+        }
+        ReportCampaignClusterer.CampaignMembers members =
+            campaignClusterer.getCampaignMembers(campaignId, campaignClusterer.getCampaignSize(campaignId));
+        if (members == null) {
+            return;
+        }
+        for (Long memberId : members.getReportIds()) {
+            Item member = items.get(memberId);
+            if (member != null) {
+                rescore(member, member.threatLevel);
+            }
+        }
+    }
+
+    // A leased item only gets its new entry; it goes back into the queue with it on release or expiry
+    private synchronized void rescore(Item item, String threatLevel) {
+        item.threatLevel = threatLevel;
+        Entry previous = item.entry;
+        Entry updated = new Entry(key(item, campaignLevel(item.reportId)), item.reportId);
+        if (updated.key == previous.key) {
+            return;
+        }
+        item.entry = updated;
+        if (queue.remove(previous) && item.lease.get() == null) {
+            queue.add(updated);
+        }
+    }
+
+    private int campaignLevel(long reportId) {
+        int size = campaignClusterer.getCampaignSize(reportId);
+        return size <= 1 ? 0 : 31 - Integer.numberOfLeadingZeros(size);
+    }
+
+    // Everything but the current-time term of the score
+    private double key(Item item, int campaignLevel) {
+        double createdHours = item.reportDate == null ? 0
+            : item.reportDate.atZone(ZoneId.systemDefault()).toEpochSecond() / 3600.0;
+        return Math.max(0, IndicatorMatcher.THREAT_LEVELS.indexOf(item.threatLevel)) * threatWeight
+            + campaignLevel * duplicateWeight
+            - createdHours * ageWeightPerHour;
+    }
+
+    private double score(Entry entry) {
+        return entry.key + Instant.now().getEpochSecond() / 3600.0 * ageWeightPerHour;
+    }
+
+    private static class Item {
+        final long reportId;
+        final LocalDateTime reportDate;
+        final AtomicReference<Lease> lease = new AtomicReference<>();
+        volatile String threatLevel;
+        volatile Entry entry;
+
+        Item(long reportId, String threatLevel, LocalDateTime reportDate) {
+            this.reportId = reportId;
+            this.threatLevel = threatLevel;
+            this.reportDate = reportDate;
+        }
+    }
+
+    // Highest key first, then oldest report
+    private static class Entry implements Comparable<Entry> {
+        final double key;
+        final long reportId;
+
+        Entry(double key, long reportId) {
+            this.key = key;
+            this.reportId = reportId;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byKey = Double.compare(other.key, key);
+            return byKey != 0 ? byKey : Long.compare(reportId, other.reportId);
+        }
+    }
+
+    public static class Lease {
+        private final long reportId;
+        private final String officer;
+        private final Instant expiresAt;
+        private final double score;
+
+        public Lease(long reportId, String officer, Instant expiresAt, double score) {
+            this.reportId = reportId;
+            this.officer = officer;
+            this.expiresAt = expiresAt;
+            this.score = score;
+        }
+
+        public long getReportId() {
+            return reportId;
+        }
+
+        public String getOfficer() {
+            return officer;
+        }
+
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
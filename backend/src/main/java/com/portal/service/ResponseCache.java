@@ -0,0 +1,163 @@
+package com.portal.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portal.event.ReportCreatedEvent;
+import com.portal.event.ReportStatusChangedEvent;
+import com.portal.event.ReportsStatusChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Serialized, pre-gzipped JSON for the hot read endpoints, keyed by endpoint and report data version. Any report
+// write bumps the version after the stats counters and list caches have caught up with it, so an entry reflects at
+// least every write before its version; an unchanged dashboard costs a map lookup, and a client that already has the
+// bytes gets 304 from the content-hash ETag even across version bumps. Entries also expire after a TTL, which bounds
+// staleness from changes that publish no event.
+@Service
+public class ResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedResponse> responses;
+    private final long maxEntryBytes;
+    private final AtomicLong version = new AtomicLong();
+
+    @Autowired
+    public ResponseCache(ObjectMapper objectMapper,
+                         @Value("${portal.cache.responses.max-bytes:67108864}") long maxBytes,
+                         @Value("${portal.cache.responses.ttl:5m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.maxEntryBytes = maxBytes / 4;
+        // Responses over a quarter of the budget are neither compressed nor kept: their weight evicts them at once
+        this.responses = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((String key, CachedResponse response) ->
+                response.gzip == null ? Integer.MAX_VALUE : response.json.length + response.gzip.length)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    // Computed at most once per key and version; concurrent requests for the same key wait for the first
+    public CachedResponse get(String key, Supplier<Object> body) {
+        long current = version.get();
+        return responses.get(key + "@" + current, k -> serialize(body.get()));
+    }
+
+    // For changes that are not published as report events
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    // Last of all report listeners: a response rebuilt under the new version must see updated counters and lists
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportCreated(ReportCreatedEvent event) {
+        invalidate();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportStatusChanged(ReportStatusChangedEvent event) {
+        invalidate();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportsStatusChanged(ReportsStatusChangedEvent event) {
+        invalidate();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("version", version.get());
+        stats.put("entries", responses.estimatedSize());
+        stats.put("hits", responses.stats().hitCount());
+        stats.put("misses", responses.stats().missCount());
+        stats.put("hitRate", responses.stats().hitRate());
+        stats.put("evictions", responses.stats().evictionCount());
+        return stats;
+    }
+
+    private CachedResponse serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new CachedResponse(json, json.length > maxEntryBytes ? null : gzip(json), etag(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response not serializable", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        // Compressed once per version, so the slower, smaller level pays for itself
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class CachedResponse {
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+
+        public CachedResponse(byte[] json, byte[] gzip, String etag) {
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = etag;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        // Null for responses too large to cache
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        // Strong validator of the identity bytes; the gzip variant is tagged "<etag>-gzip"
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getGzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+}
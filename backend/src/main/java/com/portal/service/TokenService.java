@@ -0,0 +1,150 @@
+package com.portal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Issues and verifies HS256 JWTs that carry the username and roles, so bearer requests are authenticated
+// with one HMAC instead of a BCrypt check and a user lookup.
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String HEADER = base64Url("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final boolean enabled;
+    private final ThreadLocal<Mac> macs;
+
+    @Autowired
+    public TokenService(ObjectMapper objectMapper,
+                        @Value("${portal.auth.token.enabled:true}") boolean enabled,
+                        @Value("${portal.auth.token.secret:}") String secret,
+                        @Value("${portal.auth.token.ttl:1h}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ttl = ttl;
+
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            // Tokens then only validate on this instance and until it restarts
+            log.warn("portal.auth.token.secret is not set; using a random per-process signing key");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        SecretKeySpec keySpec = new SecretKeySpec(key, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(keySpec);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public String issue(String username, Collection<String> roles) {
+        Map<String, Object> claims = Map.of(
+            "sub", username,
+            "roles", List.copyOf(roles),
+            "exp", Instant.now().plus(ttl).getEpochSecond()
+        );
+        try {
+            String unsigned = HEADER + "." + base64Url(objectMapper.writeValueAsBytes(claims));
+            return unsigned + "." + base64Url(sign(unsigned));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialise token claims", e);
+        }
+    }
+
+    public Optional<TokenPrincipal> verify(String token) {
+        // The last dot must come after the header's, otherwise there is no payload segment to take
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart <= HEADER.length() || !token.startsWith(HEADER + ".")) {
+            return Optional.empty();
+        }
+        String unsigned = token.substring(0, signatureStart);
+        byte[] signature;
+        byte[] payload;
+        try {
+            signature = Base64.getUrlDecoder().decode(token.substring(signatureStart + 1));
+            payload = Base64.getUrlDecoder().decode(unsigned.substring(HEADER.length() + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(signature, sign(unsigned))) {
+            return Optional.empty();
+        }
+
+        try {
+            Map<?, ?> claims = objectMapper.readValue(payload, Map.class);
+            Object subject = claims.get("sub");
+            Object roles = claims.get("roles");
+            Object expiry = claims.get("exp");
+            if (!(subject instanceof String) || !(roles instanceof List) || !(expiry instanceof Number)
+                    || ((Number) expiry).longValue() < Instant.now().getEpochSecond()) {
+                return Optional.empty();
+            }
+            return Optional.of(new TokenPrincipal((String) subject, ((List<?>) roles).stream().map(String::valueOf).toList()));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String unsigned) {
+        return macs.get().doFinal(unsigned.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public static class TokenPrincipal {
+        private final String username;
+        private final List<String> roles;
+
+        TokenPrincipal(String username, List<String> roles) {
+            this.username = username;
+            this.roles = roles;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public List<String> getRoles() {
+            return roles;
+        }
+    }
+}
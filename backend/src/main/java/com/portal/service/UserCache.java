@@ -0,0 +1,57 @@
+package com.portal.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.portal.model.User;
+import com.portal.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Bounded, expiring cache of users (with their eager roles) by username. Shared by authentication and the
+// controllers so the steady-state request path does not query users/user_roles. Cached entities are
+// detached and must be treated as read-only.
+@Service
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> users;
+
+    @Autowired
+    public UserCache(UserRepository userRepository,
+                     @Value("${portal.cache.users.max-size:10000}") long maxSize,
+                     @Value("${portal.cache.users.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    public Optional<User> findByUsername(String username) {
+        // Unknown usernames are not cached, so a later registration is visible immediately
+        return Optional.ofNullable(users.get(username, name -> userRepository.findByUsername(name).orElse(null)));
+    }
+
+    public void invalidate(String username) {
+        users.invalidate(username);
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = users.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("size", users.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
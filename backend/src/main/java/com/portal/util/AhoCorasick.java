@@ -0,0 +1,163 @@
+package com.portal.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Case-insensitive multi-pattern matcher: every pattern is found in one left-to-right pass over the text, however
+// many patterns there are. A pattern edge that is a letter or digit must sit on a word boundary, so "otp" does not
+// match inside "hotpot"; an edge that is punctuation matches anywhere, so "bit.ly/" matches "https://bit.ly/3xYz".
+// Immutable once built and safe to share between threads.
+public final class AhoCorasick {
+
+    private static final int ROOT = 0;
+
+    // (state << 16 | char) -> next state
+    private final LongIntHashMap transitions;
+    private final int[] failures;
+    // Pattern ending at each state (-1 if none), and the nearest state on the failure chain that ends one
+    private final int[] patterns;
+    private final int[] outputLinks;
+    private final int[] patternLengths;
+    // Whether pattern i must start / end on a word boundary
+    private final boolean[] boundedStarts;
+    private final boolean[] boundedEnds;
+
+    private AhoCorasick(LongIntHashMap transitions, int[] failures, int[] patterns, int[] outputLinks, int[] patternLengths,
+                        boolean[] boundedStarts, boolean[] boundedEnds) {
+        this.transitions = transitions;
+        this.failures = failures;
+        this.patterns = patterns;
+        this.outputLinks = outputLinks;
+        this.patternLengths = patternLengths;
+        this.boundedStarts = boundedStarts;
+        this.boundedEnds = boundedEnds;
+    }
+
+    // Pattern i is reported as index i; blank patterns never match and duplicates report the first index
+    public static AhoCorasick build(List<String> patternList) {
+        LongIntHashMap transitions = new LongIntHashMap(Math.max(16, patternList.size() * 16), -1);
+        int[] terminal = new int[16];
+        Arrays.fill(terminal, -1);
+        int states = 1;
+        int[] lengths = new int[patternList.size()];
+        boolean[] boundedStarts = new boolean[patternList.size()];
+        boolean[] boundedEnds = new boolean[patternList.size()];
+
+        for (int i = 0; i < patternList.size(); i++) {
+            String pattern = normalize(patternList.get(i));
+            lengths[i] = pattern.length();
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            boundedStarts[i] = Character.isLetterOrDigit(pattern.charAt(0));
+            boundedEnds[i] = Character.isLetterOrDigit(pattern.charAt(pattern.length() - 1));
+            int state = ROOT;
+            for (int c = 0; c < pattern.length(); c++) {
+                long key = key(state, pattern.charAt(c));
+                int next = transitions.get(key);
+                if (next < 0) {
+                    next = states++;
+                    transitions.put(key, next);
+                    if (next == terminal.length) {
+                        terminal = Arrays.copyOf(terminal, next * 2);
+                        Arrays.fill(terminal, next, terminal.length, -1);
+                    }
+                }
+                state = next;
+            }
+            if (terminal[state] < 0) {
+                terminal[state] = i;
+            }
+        }
+
+        // Breadth-first, so a state's failure target is final before its children are visited
+        List<List<int[]>> children = childrenByState(transitions, states);
+        int[] failures = new int[states];
+        int[] outputLinks = new int[states];
+        Arrays.fill(outputLinks, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int[] child : children.get(ROOT)) {
+            queue.add(child[1]);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int failure = failures[state];
+            outputLinks[state] = terminal[failure] >= 0 ? failure : outputLinks[failure];
+            for (int[] child : children.get(state)) {
+                char c = (char) child[0];
+                int target = failure;
+                int next;
+                while ((next = transitions.get(key(target, c))) < 0 && target != ROOT) {
+                    target = failures[target];
+                }
+                failures[child[1]] = next >= 0 && next != child[1] ? next : ROOT;
+                queue.add(child[1]);
+            }
+        }
+        return new AhoCorasick(transitions, failures, Arrays.copyOf(terminal, states), outputLinks, lengths, boundedStarts, boundedEnds);
+    }
+
+    // Indexes of the patterns found in text, each reported once, in order of first occurrence
+    public List<Integer> findAll(String text) {
+        List<Integer> found = new ArrayList<>();
+        if (text == null || patternLengths.length == 0) {
+            return found;
+        }
+        boolean[] seen = new boolean[patternLengths.length];
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next;
+            while ((next = transitions.get(key(state, c))) < 0 && state != ROOT) {
+                state = failures[state];
+            }
+            state = next < 0 ? ROOT : next;
+            for (int output = patterns[state] >= 0 ? state : outputLinks[state]; output >= 0; output = outputLinks[output]) {
+                int pattern = patterns[output];
+                if (!seen[pattern]
+                        && (!boundedStarts[pattern] || isBoundary(text, i - patternLengths[pattern]))
+                        && (!boundedEnds[pattern] || isBoundary(text, i + 1))) {
+                    seen[pattern] = true;
+                    found.add(pattern);
+                }
+            }
+        }
+        return found;
+    }
+
+    public int stateCount() {
+        return failures.length;
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private static List<List<int[]>> childrenByState(LongIntHashMap transitions, int states) {
+        List<List<int[]>> children = new ArrayList<>(states);
+        for (int i = 0; i < states; i++) {
+            children.add(new ArrayList<>(2));
+        }
+        transitions.forEach((key, child) -> children.get((int) (key >>> 16)).add(new int[] {(int) (key & 0xFFFF), child}));
+        return children;
+    }
+
+    // Lower-cased char by char, exactly as the text is while matching
+    private static String normalize(String pattern) {
+        if (pattern == null) {
+            return "";
+        }
+        String trimmed = pattern.trim();
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            normalized.append(Character.toLowerCase(trimmed.charAt(i)));
+        }
+        return normalized.toString();
+    }
+
+    private static long key(int state, char c) {
+        return ((long) state << 16) | c;
+    }
+}
@@ -0,0 +1,28 @@
+package com.portal.util;
+
+import java.util.Locale;
+
+// Normalizes the free-text downloadSource field for grouping
+public final class DownloadSources {
+
+    private DownloadSources() {
+    }
+
+    // "https://www.fake-bank.example:8443/app.apk" -> "fake-bank.example"; other sources are used as they are
+    public static String host(String source) {
+        if (source == null) {
+            return null;
+        }
+        String host = source.trim().toLowerCase(Locale.ROOT);
+        int scheme = host.indexOf("://");
+        if (scheme >= 0) {
+            host = host.substring(scheme + 3);
+        }
+        int end = 0;
+        while (end < host.length() && "/?#:".indexOf(host.charAt(end)) < 0) {
+            end++;
+        }
+        host = host.substring(0, end);
+        return host.startsWith("www.") ? host.substring(4) : host;
+    }
+}
@@ -0,0 +1,69 @@
+package com.portal.service;
+
+import com.portal.model.Report;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IndicatorMatcherTest {
+
+    private IndicatorMatcher matcher;
+
+    @BeforeEach
+    void loadShippedIndicators() throws Exception {
+        matcher = new IndicatorMatcher();
+        ReflectionTestUtils.setField(matcher, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(matcher, "location", "classpath:indicators.csv");
+        matcher.reload();
+    }
+
+    @Test
+    void domainIndicatorMatchesTheDomainAndItsSubdomains() {
+        assertEquals("critical", apply("https://fake-bank.example/app.apk").getThreatLevel());
+        assertEquals("critical", apply("http://login.FAKE-BANK.example:8080/x").getThreatLevel());
+    }
+
+    @Test
+    void domainIndicatorDoesNotMatchOtherDomainsSharingASuffix() {
+        Report report = apply("https://not-fake-bank.example/app.apk");
+
+        assertEquals("low", report.getThreatLevel());
+        assertNull(report.getTags());
+    }
+
+    @Test
+    void urlIndicatorMatchesShortenedLinks() {
+        Report report = apply("https://bit.ly/3xYz");
+
+        assertEquals("high", report.getThreatLevel());
+        assertEquals("apk-via-shortener", report.getTags());
+    }
+
+    @Test
+    void neverLowersTheThreatLevel() {
+        Report report = report("https://bit.ly/3xYz");
+        report.setThreatLevel("critical");
+        matcher.apply(report);
+
+        assertEquals("critical", report.getThreatLevel());
+    }
+
+    private Report apply(String downloadSource) {
+        Report report = report(downloadSource);
+        matcher.apply(report);
+        return report;
+    }
+
+    private static Report report(String downloadSource) {
+        Report report = new Report();
+        report.setSuspiciousAppName("Bank App");
+        report.setDescription("Installed it from a link");
+        report.setDownloadSource(downloadSource);
+        report.setThreatLevel("low");
+        return report;
+    }
+}
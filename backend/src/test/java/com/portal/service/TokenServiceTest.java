@@ -0,0 +1,72 @@
+package com.portal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenServiceTest {
+
+    private static final String HEADER = Base64.getUrlEncoder().withoutPadding()
+        .encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes());
+
+    private final TokenService tokens = new TokenService(new ObjectMapper(), true, "test-secret", Duration.ofHours(1));
+
+    @Test
+    void issuedTokenVerifies() {
+        TokenService.TokenPrincipal principal = tokens.verify(tokens.issue("officer1", List.of("POLICE"))).orElseThrow();
+
+        assertEquals("officer1", principal.getUsername());
+        assertEquals(List.of("POLICE"), principal.getRoles());
+    }
+
+    @Test
+    void rejectsTruncatedTokens() {
+        String token = tokens.issue("officer1", List.of("POLICE"));
+
+        assertTrue(tokens.verify("").isEmpty());
+        assertTrue(tokens.verify(HEADER).isEmpty());
+        assertTrue(tokens.verify(HEADER + ".").isEmpty());
+        assertTrue(tokens.verify(token.substring(0, token.lastIndexOf('.'))).isEmpty());
+        assertTrue(tokens.verify(token.substring(0, token.length() - 4)).isEmpty());
+    }
+
+    @Test
+    void rejectsEmptyPayload() {
+        assertTrue(tokens.verify(HEADER + "..").isEmpty());
+        assertTrue(tokens.verify(HEADER + "..c2ln").isEmpty());
+    }
+
+    @Test
+    void rejectsBadSignatures() {
+        String token = tokens.issue("officer1", List.of("POLICE"));
+        String unsigned = token.substring(0, token.lastIndexOf('.'));
+        String foreign = new TokenService(new ObjectMapper(), true, "other-secret", Duration.ofHours(1))
+            .issue("officer1", List.of("POLICE"));
+
+        assertTrue(tokens.verify(unsigned + ".AAAA").isEmpty());
+        assertTrue(tokens.verify(unsigned + ".!!not-base64!!").isEmpty());
+        assertTrue(tokens.verify(foreign).isEmpty());
+    }
+
+    @Test
+    void rejectsTamperedClaims() {
+        String token = tokens.issue("citizen1", List.of("CITIZEN"));
+        String forged = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("{\"sub\":\"citizen1\",\"roles\":[\"POLICE\"],\"exp\":9999999999}".getBytes());
+
+        assertTrue(tokens.verify(HEADER + "." + forged + token.substring(token.lastIndexOf('.'))).isEmpty());
+    }
+
+    @Test
+    void rejectsExpiredTokens() {
+        TokenService expired = new TokenService(new ObjectMapper(), true, "test-secret", Duration.ofSeconds(-5));
+
+        assertTrue(tokens.verify(expired.issue("officer1", List.of("POLICE"))).isEmpty());
+    }
+}
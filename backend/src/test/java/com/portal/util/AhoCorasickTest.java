@@ -0,0 +1,53 @@
+package com.portal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AhoCorasickTest {
+
+    @Test
+    void findsEveryPatternInOnePassCaseInsensitively() {
+        AhoCorasick matcher = AhoCorasick.build(List.of("KYC Update", "AnyDesk", "otp"));
+
+        assertEquals(List.of(1, 2, 0), matcher.findAll("Installed anydesk, gave the OTP, then the kyc update"));
+    }
+
+    @Test
+    void alphanumericEdgesMustSitOnWordBoundaries() {
+        AhoCorasick matcher = AhoCorasick.build(List.of("otp"));
+
+        assertTrue(matcher.findAll("hotpot").isEmpty());
+        assertTrue(matcher.findAll("otpx").isEmpty());
+        assertEquals(List.of(0), matcher.findAll("send otp."));
+    }
+
+    @Test
+    void punctuationEdgesMatchInsideWords() {
+        AhoCorasick matcher = AhoCorasick.build(List.of("bit.ly/", "/update.apk"));
+
+        assertEquals(List.of(0), matcher.findAll("https://bit.ly/3xYz"));
+        assertEquals(List.of(1), matcher.findAll("http://cdn.example/bank/update.apk"));
+        // The alphanumeric start of "bit.ly/" still needs a boundary
+        assertTrue(matcher.findAll("https://rabbit.ly/3xYz").isEmpty());
+    }
+
+    @Test
+    void reportsOverlappingAndNestedPatternsOnce() {
+        AhoCorasick matcher = AhoCorasick.build(List.of("secure update", "update", "sbi secure update"));
+
+        // All three end at the same character and are reported longest first
+        assertEquals(List.of(2, 0, 1), matcher.findAll("SBI Secure Update, update again"));
+    }
+
+    @Test
+    void ignoresBlankPatternsAndNullText() {
+        AhoCorasick matcher = AhoCorasick.build(List.of(" ", "otp"));
+
+        assertTrue(matcher.findAll(null).isEmpty());
+        assertEquals(List.of(1), matcher.findAll("otp"));
+    }
+}